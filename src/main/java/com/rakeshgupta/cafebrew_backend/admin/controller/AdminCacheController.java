@@ -0,0 +1,55 @@
+package com.rakeshgupta.cafebrew_backend.admin.controller;
+
+import com.rakeshgupta.cafebrew_backend.admin.service.CatalogCacheService;
+import com.rakeshgupta.cafebrew_backend.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final CatalogCacheService catalogCacheService;
+    private final WarmupService warmupService;
+
+    /**
+     * GET /api/admin/cache/stats
+     * Second-level and query cache statistics (populated when HIBERNATE_L2_CACHE_ENABLED=true)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(catalogCacheService.getStatistics());
+    }
+
+    /**
+     * DELETE /api/admin/cache
+     * Evict all cache regions, e.g. after editing catalog rows directly in the database
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        catalogCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/admin/cache/warmup
+     * Timings of the last warmup run
+     */
+    @GetMapping("/warmup")
+    public ResponseEntity<Map<String, Object>> getWarmup() {
+        return ResponseEntity.ok(warmupService.getLastRun());
+    }
+
+    /**
+     * POST /api/admin/cache/warmup
+     * Run the warmup now, e.g. after evicting the cache
+     */
+    @PostMapping("/warmup")
+    public ResponseEntity<Map<String, Object>> warmup() {
+        return ResponseEntity.ok(warmupService.warmup());
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/categories")
@@ -29,11 +30,9 @@ public class AdminCategoryController {
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> getAllCategories() {
         List<Category> categories = categoryService.getAllCategories();
+        Map<Long, Integer> itemCounts = categoryService.getItemCountsForCategories(categories);
         List<CategoryResponse> response = categories.stream()
-                .map(category -> CategoryResponse.fromEntity(
-                        category,
-                        categoryService.getItemCountForCategory(category.getId())
-                ))
+                .map(category -> CategoryResponse.fromEntity(category, itemCounts.get(category.getId())))
                 .toList();
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,25 @@
+package com.rakeshgupta.cafebrew_backend.admin.controller;
+
+import com.rakeshgupta.cafebrew_backend.service.ConnectionPoolTuner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/db")
+@RequiredArgsConstructor
+public class AdminDatabaseController {
+
+    private final ConnectionPoolTuner connectionPoolTuner;
+
+    /**
+     * GET /api/admin/db/pool
+     * Current connection pool size and the measurements behind the last auto-tuning decision
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<Map<String, Object>> getPool() {
+        return ResponseEntity.ok(connectionPoolTuner.getLastRun());
+    }
+}
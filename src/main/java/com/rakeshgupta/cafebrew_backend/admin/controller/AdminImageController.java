@@ -1,12 +1,23 @@
 package com.rakeshgupta.cafebrew_backend.admin.controller;
 
+import com.rakeshgupta.cafebrew_backend.admin.dto.request.DeleteImagesRequest;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageDeleteResult;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageUploadResult;
+import com.rakeshgupta.cafebrew_backend.service.ImageDeleteQueue;
 import com.rakeshgupta.cafebrew_backend.service.ImageStorageService;
+import com.rakeshgupta.cafebrew_backend.service.ImageVariantResolver;
+import com.rakeshgupta.cafebrew_backend.service.OrphanImageReconciler;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -15,36 +26,69 @@ import java.util.Map;
 public class AdminImageController {
 
     private final ImageStorageService imageStorageService;
+    private final ImageVariantResolver imageVariantResolver;
+    private final ImageDeleteQueue imageDeleteQueue;
+    private final OrphanImageReconciler orphanImageReconciler;
 
     @Autowired
-    public AdminImageController(@Lazy ImageStorageService imageStorageService) {
+    public AdminImageController(@Lazy ImageStorageService imageStorageService, ImageVariantResolver imageVariantResolver,
+                                ImageDeleteQueue imageDeleteQueue, OrphanImageReconciler orphanImageReconciler) {
         this.imageStorageService = imageStorageService;
+        this.imageVariantResolver = imageVariantResolver;
+        this.imageDeleteQueue = imageDeleteQueue;
+        this.orphanImageReconciler = orphanImageReconciler;
     }
 
     /**
      * POST /api/admin/images/upload
-     * Upload a single image for menu items
+     * Upload a single image for menu items; the response lists the generated variants
      */
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, String>> uploadImage(
+    public ResponseEntity<Map<String, Object>> uploadImage(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "folder", defaultValue = "menu-items") String folder) {
         
         String imageUrl = imageStorageService.uploadImage(file, folder);
-        return ResponseEntity.ok(Map.of("imageUrl", imageUrl));
+        return ResponseEntity.ok(withVariants(imageUrl));
+    }
+
+    /**
+     * PUT /api/admin/images/stream?folder=menu-items&filename=latte.jpg
+     * Upload a single image sent as the raw request body (Content-Type: image/jpeg, image/png, ...).
+     * The body is piped to storage as it arrives, with no multipart parsing or temp file.
+     */
+    @PutMapping(value = "/stream", consumes = {"image/jpeg", "image/png", "image/gif", "image/webp"})
+    public ResponseEntity<Map<String, Object>> streamImage(
+            HttpServletRequest request,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(value = "folder", defaultValue = "menu-items") String folder,
+            @RequestParam(value = "filename", required = false) String filename) throws IOException {
+
+        String imageUrl = imageStorageService.uploadImage(
+                request.getInputStream(),
+                request.getContentLengthLong(),
+                contentType.getType() + "/" + contentType.getSubtype(),
+                filename,
+                folder);
+        return ResponseEntity.ok(withVariants(imageUrl));
     }
 
     /**
      * POST /api/admin/images/upload-multiple
-     * Upload multiple images
+     * Upload multiple images in parallel.
+     * imageUrls lists the successful uploads; results has one entry per file, in request order
      */
     @PostMapping("/upload-multiple")
-    public ResponseEntity<Map<String, List<String>>> uploadImages(
+    public ResponseEntity<Map<String, Object>> uploadImages(
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam(value = "folder", defaultValue = "menu-items") String folder) {
         
-        List<String> imageUrls = imageStorageService.uploadImages(files, folder);
-        return ResponseEntity.ok(Map.of("imageUrls", imageUrls));
+        List<ImageUploadResult> results = imageStorageService.uploadImages(files, folder);
+        List<String> imageUrls = results.stream()
+                .filter(ImageUploadResult::isSuccess)
+                .map(ImageUploadResult::getImageUrl)
+                .toList();
+        return ResponseEntity.ok(Map.of("imageUrls", imageUrls, "results", results));
     }
 
     /**
@@ -56,4 +100,39 @@ public class AdminImageController {
         boolean deleted = imageStorageService.deleteImage(imageUrl);
         return ResponseEntity.ok(Map.of("deleted", deleted));
     }
+
+    /**
+     * POST /api/admin/images/delete-multiple
+     * Delete several images with batch requests; one result per URL, in request order
+     */
+    @PostMapping("/delete-multiple")
+    public ResponseEntity<Map<String, List<ImageDeleteResult>>> deleteImages(@Valid @RequestBody DeleteImagesRequest request) {
+        return ResponseEntity.ok(Map.of("results", imageStorageService.deleteImages(request.getImageUrls())));
+    }
+
+    /**
+     * GET /api/admin/images/cleanup
+     * Pending delete queue statistics and the result of the last orphan reconciliation
+     */
+    @GetMapping("/cleanup")
+    public ResponseEntity<Map<String, Object>> getCleanupStatus() {
+        return ResponseEntity.ok(Map.of(
+                "deleteQueue", imageDeleteQueue.getStatistics(),
+                "lastReconciliation", orphanImageReconciler.getLastRun()));
+    }
+
+    /**
+     * POST /api/admin/images/reconcile
+     * Scan the bucket now for images no menu item references and queue them for deletion
+     */
+    @PostMapping("/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcile() {
+        return ResponseEntity.ok(orphanImageReconciler.reconcile());
+    }
+
+    private Map<String, Object> withVariants(String imageUrl) {
+        return Map.of(
+                "imageUrl", imageUrl,
+                "variants", imageVariantResolver.resolve(List.of(imageUrl)).getOrDefault(imageUrl, List.of()));
+    }
 }
@@ -0,0 +1,35 @@
+package com.rakeshgupta.cafebrew_backend.admin.controller;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.KitchenQueueResponse;
+import com.rakeshgupta.cafebrew_backend.admin.service.KitchenQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/kitchen")
+@RequiredArgsConstructor
+public class AdminKitchenController {
+
+    private final KitchenQueue kitchenQueue;
+
+    /**
+     * GET /api/admin/kitchen/queue or /api/admin/kitchen/queue?station=Coffee
+     * Active orders (NEW, PREPARING, READY), oldest first, served from memory
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<KitchenQueueResponse> getQueue(@RequestParam(required = false) String station) {
+        return ResponseEntity.ok(kitchenQueue.getQueue(station));
+    }
+
+    /**
+     * GET /api/admin/kitchen/stations
+     * Station names accepted by the queue endpoint
+     */
+    @GetMapping("/stations")
+    public ResponseEntity<List<String>> getStations() {
+        return ResponseEntity.ok(kitchenQueue.getStations());
+    }
+}
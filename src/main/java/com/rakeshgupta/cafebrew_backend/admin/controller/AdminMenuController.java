@@ -26,8 +26,8 @@ public class AdminMenuController {
      * Returns ALL menu items (including unavailable) for admin management
      */
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getAllMenuItems() {
-        List<MenuItem> allItems = menuService.getAllMenuItems();
+    public ResponseEntity<List<MenuItemResponse>> getAllMenuItems() {
+        List<MenuItemResponse> allItems = menuService.getAllMenuItems();
         return ResponseEntity.ok(allItems);
     }
 
@@ -2,7 +2,9 @@ package com.rakeshgupta.cafebrew_backend.admin.controller;
 
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.UpdateOrderStatusRequest;
 import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventReplayResponse;
 import com.rakeshgupta.cafebrew_backend.admin.service.AdminOrderService;
+import com.rakeshgupta.cafebrew_backend.admin.service.OrderNotificationService;
 import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Order;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,7 @@ import java.util.List;
 public class AdminOrderController {
 
     private final AdminOrderService adminOrderService;
+    private final OrderNotificationService orderNotificationService;
 
     /**
      * GET /api/admin/orders or /api/admin/orders?status=NEW
@@ -61,6 +64,19 @@ public class AdminOrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/admin/orders/events?since=42&streamId=...
+     * Replays order events missed since the given sequence number.
+     * If complete is false the client must reload orders with GET /api/admin/orders.
+     */
+    @GetMapping("/events")
+    public ResponseEntity<OrderEventReplayResponse> getOrderEvents(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String streamId
+    ) {
+        return ResponseEntity.ok(orderNotificationService.replayEvents(since, streamId));
+    }
+
     /**
      * PUT /api/admin/orders/{orderId}/status
      * Enforces state machine inside service
@@ -0,0 +1,24 @@
+package com.rakeshgupta.cafebrew_backend.admin.controller;
+
+import com.rakeshgupta.cafebrew_backend.config.LocalSpanCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+public class AdminTraceController {
+
+    private final LocalSpanCollector localSpanCollector;
+
+    /**
+     * GET /api/admin/traces?traceId=...
+     * Recently finished spans as Zipkin v2 JSON (loadable in the Zipkin UI), optionally for one trace
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getRecentSpans(@RequestParam(required = false) String traceId) {
+        return ResponseEntity.ok(localSpanCollector.getRecentSpansJson(traceId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.rakeshgupta.cafebrew_backend.admin.controller;
+
+import com.rakeshgupta.cafebrew_backend.admin.service.OrderNotificationFanout;
+import com.rakeshgupta.cafebrew_backend.config.WebSocketSessionMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/websocket")
+@RequiredArgsConstructor
+public class AdminWebSocketController {
+
+    private final OrderNotificationFanout orderNotificationFanout;
+    private final WebSocketSessionMonitor webSocketSessionMonitor;
+
+    /**
+     * GET /api/admin/websocket/stats
+     * Order notification fan-out throughput and latency, and per-session outbound queues, for this instance
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("fanout", orderNotificationFanout.getStatistics());
+        stats.put("outbound", webSocketSessionMonitor.getStatistics());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,17 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteImagesRequest {
+
+    @NotEmpty(message = "At least one image URL is required")
+    private List<String> imageUrls;
+}
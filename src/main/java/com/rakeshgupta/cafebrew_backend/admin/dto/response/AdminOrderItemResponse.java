@@ -13,6 +13,7 @@ import java.util.List;
 @AllArgsConstructor
 public class AdminOrderItemResponse {
     private Long id;
+    private Long menuItemId;
     private String menuItemName;
     private BigDecimal price;
     private Integer quantity;
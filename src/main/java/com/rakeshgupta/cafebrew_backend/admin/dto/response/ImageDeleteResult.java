@@ -0,0 +1,20 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one URL in a batch delete.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageDeleteResult {
+
+    private String imageUrl;
+    private boolean deleted;
+    private String error;
+}
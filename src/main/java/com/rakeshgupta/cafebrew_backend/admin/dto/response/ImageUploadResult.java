@@ -0,0 +1,33 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one file in a batch upload.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageUploadResult {
+
+    private String originalFilename;
+    private boolean success;
+    private String imageUrl;
+    private List<ImageVariantResponse> variants;
+    private String error;
+
+    public static ImageUploadResult succeeded(String originalFilename, String imageUrl, List<ImageVariantResponse> variants) {
+        return new ImageUploadResult(originalFilename, true, imageUrl, variants, null);
+    }
+
+    public static ImageUploadResult failed(String originalFilename, String error) {
+        return new ImageUploadResult(originalFilename, false, null, null, error);
+    }
+}
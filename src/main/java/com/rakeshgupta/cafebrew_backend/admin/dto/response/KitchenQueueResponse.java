@@ -0,0 +1,22 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active orders for a kitchen station (or all stations when station is null), oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenQueueResponse {
+
+    private String station;
+    private Map<OrderStatus, Integer> counts;
+    private List<KitchenTicketResponse> orders;
+}
@@ -0,0 +1,21 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line on a kitchen ticket: what to make, how many, and at which station.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenTicketItemResponse {
+
+    private String name;
+    private Integer quantity;
+    private String station;
+    private List<String> extras;
+}
@@ -0,0 +1,31 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import com.rakeshgupta.cafebrew_backend.common.enums.PaymentMode;
+import com.rakeshgupta.cafebrew_backend.common.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compact view of an active order for kitchen display screens.
+ * Leaves out prices, totals and customer contact details.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenTicketResponse {
+
+    private Long orderId;
+    private String orderCode;
+    private String customerName;
+    private String tableNo;
+    private OrderStatus status;
+    private PaymentMode paymentMode;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+    private List<KitchenTicketItemResponse> items;
+}
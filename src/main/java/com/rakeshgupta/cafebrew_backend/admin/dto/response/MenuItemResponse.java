@@ -1,5 +1,7 @@
 package com.rakeshgupta.cafebrew_backend.admin.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
 import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -23,6 +26,17 @@ public class MenuItemResponse {
     private String imageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<ImageVariantResponse> imageVariants;
+
+    /**
+     * Constructor used by the JPQL projection; variants are attached afterwards.
+     */
+    public MenuItemResponse(Long id, String name, String description, Long categoryId, String categoryName,
+                            BigDecimal price, Boolean available, String imageUrl,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, description, categoryId, categoryName, price, available, imageUrl, createdAt, updatedAt, null);
+    }
     
     /**
      * Creates a MenuItemResponse from a MenuItem entity.
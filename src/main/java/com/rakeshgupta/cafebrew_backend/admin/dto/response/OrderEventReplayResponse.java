@@ -0,0 +1,23 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Events missed since a given sequence number.
+ * When {@code complete} is false the gap could not be filled from the buffer
+ * (too old, or the server restarted) and the client must reload orders over REST.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventReplayResponse {
+
+    private String streamId;
+    private long latestSeq;
+    private boolean complete;
+    private List<OrderEventResponse> events;
+}
@@ -0,0 +1,35 @@
+package com.rakeshgupta.cafebrew_backend.admin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderEventType;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import com.rakeshgupta.cafebrew_backend.common.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One frame of the sequenced order event stream on /topic/orders/events.
+ * Only the fields that changed are set: CREATED carries the full order,
+ * STATUS_CHANGED and PAYMENT_STATUS_CHANGED carry just the new value.
+ * Sequence numbers are scoped to {@code streamId}: with one instance it changes on restart,
+ * with several it is shared by all of them and kept in the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEventResponse {
+
+    private String streamId;
+    private long seq;
+    private OrderEventType type;
+    private Long orderId;
+    private String orderCode;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime occurredAt;
+    private AdminOrderResponse order;
+}
@@ -2,9 +2,11 @@ package com.rakeshgupta.cafebrew_backend.admin.service;
 
 import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderItemResponse;
 import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderItemExtraResponse;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Order;
 import com.rakeshgupta.cafebrew_backend.customer.repository.OrderRepository;
 import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -13,12 +15,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "cafebrew.service")
 public class AdminOrderService {
     
     private final OrderRepository orderRepository;
@@ -67,6 +71,18 @@ public class AdminOrderService {
         return orderRepository.findByStatusOrderByCreatedAtAsc(status);
     }
     
+    /**
+     * Get orders the kitchen still has to work on (NEW, PREPARING, READY), oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<AdminOrderResponse> getActiveOrders() {
+        return orderRepository.findByStatusInOrderByCreatedAtAsc(
+                        EnumSet.of(OrderStatus.NEW, OrderStatus.PREPARING, OrderStatus.READY))
+                .stream()
+                .map(this::toAdminOrderResponse)
+                .toList();
+    }
+
     /**
      * Search orders by customer name or order code with pagination
      */
@@ -102,10 +118,14 @@ public class AdminOrderService {
         List<AdminOrderItemResponse> items = order.getItems().stream()
                 .map(item -> new AdminOrderItemResponse(
                         item.getId(),
+                        item.getMenuItemId(),
                         item.getMenuItemName(),
                         item.getPrice(),
                         item.getQuantity(),
-                        item.getTotalPrice()
+                        item.getTotalPrice(),
+                        item.getExtras().stream()
+                                .map(OrderItemExtraResponse::fromEntity)
+                                .toList()
                 ))
                 .toList();
         
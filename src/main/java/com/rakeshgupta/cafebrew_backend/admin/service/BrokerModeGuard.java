@@ -0,0 +1,29 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Fails startup when the order fan-out and event stream beans do not match app.websocket.broker.mode.
+ * Under Spring AOT (the fast-startup image) the @Conditional choice between them is made when the
+ * image is built, so an image built for one mode and started with another would otherwise run with
+ * the wrong fan-out, e.g. local-only delivery with WEBSOCKET_BROKER_MODE=postgres.
+ */
+@Component
+public class BrokerModeGuard {
+
+    public BrokerModeGuard(@Value("${app.websocket.broker.mode:simple}") String brokerMode,
+                           OrderNotificationFanout orderNotificationFanout,
+                           OrderEventStream orderEventStream) {
+        boolean postgresFanout = orderNotificationFanout instanceof PostgresOrderNotificationFanout;
+        boolean sharedStream = orderEventStream instanceof PostgresOrderEventStream;
+        if (postgresFanout != "postgres".equals(brokerMode) || sharedStream == "simple".equals(brokerMode)) {
+            throw new IllegalStateException("WEBSOCKET_BROKER_MODE=" + brokerMode
+                    + " does not match the beans built for this image ("
+                    + ClassUtils.getUserClass(orderNotificationFanout).getSimpleName() + ", "
+                    + ClassUtils.getUserClass(orderEventStream).getSimpleName()
+                    + "); rebuild with --build-arg WEBSOCKET_BROKER_MODE=" + brokerMode);
+        }
+    }
+}
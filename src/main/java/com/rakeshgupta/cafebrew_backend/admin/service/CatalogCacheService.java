@@ -0,0 +1,98 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reporting and manual eviction for the Hibernate second-level cache.
+ * Admin mutations invalidate the cache automatically; eviction here is only needed
+ * after the database has been edited outside the application.
+ * The cache lives in each instance's heap and is only invalidated by that instance's own writes,
+ * so it is refused at startup in the postgres and relay broker modes, which run several instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @PostConstruct
+    void checkSingleInstance() {
+        if (isSecondLevelCacheEnabled() && !"simple".equals(brokerMode)) {
+            throw new IllegalStateException("HIBERNATE_L2_CACHE_ENABLED=true is not supported with WEBSOCKET_BROKER_MODE="
+                    + brokerMode + ": other instances' writes would not evict this instance's cache");
+        }
+    }
+
+    /**
+     * Hit/miss/put counters for the whole cache, the query cache and each region.
+     */
+    public Map<String, Object> getStatistics() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics stats = sessionFactory.getStatistics();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("secondLevelCacheEnabled", isSecondLevelCacheEnabled());
+        body.put("statisticsEnabled", stats.isStatisticsEnabled());
+        body.put("secondLevelCache", counters(
+                stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(),
+                stats.getSecondLevelCachePutCount()));
+        body.put("queryCache", counters(
+                stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(),
+                stats.getQueryCachePutCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = stats.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Object> regionCounters = counters(
+                        region.getHitCount(), region.getMissCount(), region.getPutCount());
+                regionCounters.put("elementCountInMemory", region.getElementCountInMemory());
+                regions.put(regionName, regionCounters);
+            }
+        }
+        body.put("regions", regions);
+        return body;
+    }
+
+    /**
+     * Evict every entity, collection and query region.
+     */
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        log.info("Evicted all second-level cache regions");
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        Object enabled = entityManagerFactory.getProperties().get(AvailableSettings.USE_SECOND_LEVEL_CACHE);
+        return enabled != null && Boolean.parseBoolean(enabled.toString());
+    }
+
+    private Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hitCount", hits);
+        counters.put("missCount", misses);
+        counters.put("putCount", puts);
+        long lookups = hits + misses;
+        counters.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return counters;
+    }
+}
@@ -0,0 +1,257 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderItemResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.KitchenQueueResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.KitchenTicketItemResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.KitchenTicketResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.MenuItemResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderItemExtraResponse;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory queue of active orders (NEW, PREPARING, READY) for kitchen display screens.
+ * Maintained incrementally from the order notification fan-out, so reads never query the database.
+ * The fan-out delivers events only after their transaction commits, so an order that rolls back
+ * (e.g. a failed payment gateway call) never becomes a ticket.
+ * Each item is tagged with a station, the category of its menu item.
+ * The queue is rebuilt from the database at startup, on RESYNC events and on a fixed interval,
+ * which also picks up orders written by other instances when the broker is an external relay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KitchenQueue {
+
+    public static final String UNASSIGNED_STATION = "Other";
+
+    private final AdminOrderService adminOrderService;
+    private final MenuItemRepository menuItemRepository;
+    private final OrderNotificationFanout orderNotificationFanout;
+
+    // Guarded by this; insertion order is creation order
+    private final LinkedHashMap<Long, KitchenTicketResponse> tickets = new LinkedHashMap<>();
+    // Guarded by this; non-null while a rebuild is loading, so events received meanwhile can be replayed
+    private List<OrderEventResponse> eventsDuringRebuild;
+
+    private volatile Map<Long, String> stationByMenuItem = Map.of();
+
+    @PostConstruct
+    public void subscribe() {
+        orderNotificationFanout.subscribe(this::apply);
+    }
+
+    // Before WarmupService, which marks the instance ready once it has run
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        refreshStations();
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getType() != CatalogChangedEvent.Type.EXTRA_INGREDIENT) {
+            refreshStations();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.kitchen.reconcile-interval-ms:60000}",
+            fixedDelayString = "${app.kitchen.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Active orders, oldest first. When a station is given, only its items are listed
+     * and orders with nothing for that station are left out.
+     */
+    public KitchenQueueResponse getQueue(String station) {
+        List<KitchenTicketResponse> snapshot = new ArrayList<>();
+        synchronized (this) {
+            for (KitchenTicketResponse ticket : tickets.values()) {
+                snapshot.add(copyOf(ticket, ticket.getItems()));
+            }
+        }
+
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        List<KitchenTicketResponse> orders = new ArrayList<>(snapshot.size());
+        for (KitchenTicketResponse ticket : snapshot) {
+            if (station != null) {
+                List<KitchenTicketItemResponse> items = ticket.getItems().stream()
+                        .filter(item -> item.getStation().equalsIgnoreCase(station))
+                        .toList();
+                if (items.isEmpty()) {
+                    continue;
+                }
+                ticket.setItems(items);
+            }
+            counts.merge(ticket.getStatus(), 1, Integer::sum);
+            orders.add(ticket);
+        }
+        return new KitchenQueueResponse(station, counts, orders);
+    }
+
+    /**
+     * Station names known from the menu, sorted.
+     */
+    public List<String> getStations() {
+        TreeSet<String> stations = new TreeSet<>(stationByMenuItem.values());
+        stations.add(UNASSIGNED_STATION);
+        return List.copyOf(stations);
+    }
+
+    /**
+     * Reload active orders from the database, then replay any events received while loading.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            if (eventsDuringRebuild != null) {
+                return;
+            }
+            eventsDuringRebuild = new ArrayList<>();
+        }
+
+        LinkedHashMap<Long, KitchenTicketResponse> loaded = new LinkedHashMap<>();
+        try {
+            for (AdminOrderResponse order : adminOrderService.getActiveOrders()) {
+                loaded.put(order.getOrderId(), toTicket(order));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                eventsDuringRebuild = null;
+            }
+            log.error("Failed to rebuild kitchen queue: {}", e.getMessage(), e);
+            return;
+        }
+
+        synchronized (this) {
+            tickets.clear();
+            tickets.putAll(loaded);
+            eventsDuringRebuild.forEach(this::applyLocked);
+            eventsDuringRebuild = null;
+            log.debug("Kitchen queue rebuilt with {} active orders", tickets.size());
+        }
+    }
+
+    private void apply(OrderEventResponse event) {
+        switch (event.getType()) {
+            case RESYNC -> rebuild();
+            default -> {
+                synchronized (this) {
+                    if (eventsDuringRebuild != null) {
+                        eventsDuringRebuild.add(event);
+                    }
+                    applyLocked(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Events are idempotent and statuses only move forward, so replaying an event that the
+     * loaded snapshot already reflects is harmless.
+     */
+    private void applyLocked(OrderEventResponse event) {
+        Long orderId = event.getOrderId();
+        switch (event.getType()) {
+            case CREATED -> {
+                if (event.getOrder() != null && isActive(event.getOrder().getStatus())) {
+                    tickets.putIfAbsent(orderId, toTicket(event.getOrder()));
+                }
+            }
+            case STATUS_CHANGED -> {
+                KitchenTicketResponse ticket = tickets.get(orderId);
+                if (ticket == null || event.getStatus().ordinal() <= ticket.getStatus().ordinal()) {
+                    return;
+                }
+                if (isActive(event.getStatus())) {
+                    ticket.setStatus(event.getStatus());
+                } else {
+                    tickets.remove(orderId);
+                }
+            }
+            case PAYMENT_STATUS_CHANGED -> {
+                KitchenTicketResponse ticket = tickets.get(orderId);
+                if (ticket != null) {
+                    ticket.setPaymentStatus(event.getPaymentStatus());
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void refreshStations() {
+        Map<Long, String> stations = new HashMap<>();
+        for (MenuItemResponse item : menuItemRepository.findAllMenuItemResponses()) {
+            if (item.getCategoryName() != null) {
+                stations.put(item.getId(), item.getCategoryName());
+            }
+        }
+        stationByMenuItem = Map.copyOf(stations);
+    }
+
+    private KitchenTicketResponse toTicket(AdminOrderResponse order) {
+        Map<Long, String> stations = stationByMenuItem;
+        List<KitchenTicketItemResponse> items = new ArrayList<>(order.getItems().size());
+        for (AdminOrderItemResponse item : order.getItems()) {
+            List<String> extras = item.getExtras().stream()
+                    .map(OrderItemExtraResponse::getExtraIngredientName)
+                    .toList();
+            String station = item.getMenuItemId() != null
+                    ? stations.getOrDefault(item.getMenuItemId(), UNASSIGNED_STATION)
+                    : UNASSIGNED_STATION;
+            items.add(new KitchenTicketItemResponse(item.getMenuItemName(), item.getQuantity(), station, extras));
+        }
+        return new KitchenTicketResponse(
+                order.getOrderId(),
+                order.getOrderCode(),
+                order.getCustomerName(),
+                order.getTableNo(),
+                order.getStatus(),
+                order.getPaymentMode(),
+                order.getPaymentStatus(),
+                order.getCreatedAt(),
+                List.copyOf(items)
+        );
+    }
+
+    private static KitchenTicketResponse copyOf(KitchenTicketResponse ticket, List<KitchenTicketItemResponse> items) {
+        return new KitchenTicketResponse(
+                ticket.getOrderId(),
+                ticket.getOrderCode(),
+                ticket.getCustomerName(),
+                ticket.getTableNo(),
+                ticket.getStatus(),
+                ticket.getPaymentMode(),
+                ticket.getPaymentStatus(),
+                ticket.getCreatedAt(),
+                items
+        );
+    }
+
+    private static boolean isActive(OrderStatus status) {
+        return status == OrderStatus.NEW || status == OrderStatus.PREPARING || status == OrderStatus.READY;
+    }
+}
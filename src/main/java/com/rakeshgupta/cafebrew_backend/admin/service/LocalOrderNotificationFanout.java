@@ -0,0 +1,91 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers order notifications in-process.
+ * Used with the simple broker, where there is a single instance, and with the STOMP relay,
+ * where the external broker does the cross-instance fan-out.
+ * An event published inside a transaction is delivered once it commits and dropped if it rolls
+ * back, the same as the postgres fan-out, whose NOTIFY is transactional.
+ */
+@Component
+@ConditionalOnExpression("'${app.websocket.broker.mode:simple}' != 'postgres'")
+@Slf4j
+public class LocalOrderNotificationFanout implements OrderNotificationFanout {
+
+    private final String brokerMode;
+    private final Timer latencyTimer;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong totalDeliveryNanos = new AtomicLong();
+    private final List<Consumer<OrderEventResponse>> consumers = new CopyOnWriteArrayList<>();
+
+    public LocalOrderNotificationFanout(@Value("${app.websocket.broker.mode:simple}") String brokerMode,
+                                        MeterRegistry meterRegistry) {
+        this.brokerMode = brokerMode;
+        this.latencyTimer = OrderNotificationFanout.latencyTimer(meterRegistry, brokerMode);
+    }
+
+    @Override
+    public void publish(OrderEventResponse event) {
+        long publishedAt = System.nanoTime();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event, publishedAt);
+                }
+            });
+        } else {
+            deliver(event, publishedAt);
+        }
+    }
+
+    private void deliver(OrderEventResponse event, long publishedAt) {
+        long start = System.nanoTime();
+        for (Consumer<OrderEventResponse> consumer : consumers) {
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e) {
+                // A failed broadcast must not fail the order change that triggered it
+                log.error("Failed to deliver order event for {}: {}", event.getOrderCode(), e.getMessage(), e);
+            }
+        }
+        long end = System.nanoTime();
+        totalDeliveryNanos.addAndGet(end - start);
+        latencyTimer.record(end - publishedAt, TimeUnit.NANOSECONDS);
+        delivered.incrementAndGet();
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderEventResponse> consumer) {
+        consumers.add(consumer);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        long count = delivered.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", brokerMode);
+        stats.put("published", count);
+        stats.put("delivered", count);
+        stats.put("avgDeliveryMillis", count == 0 ? 0.0 : totalDeliveryNanos.get() / 1_000_000.0 / count);
+        return stats;
+    }
+}
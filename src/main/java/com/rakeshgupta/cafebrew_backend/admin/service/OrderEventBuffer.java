@@ -0,0 +1,68 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventReplayResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixed-size ring buffer of the most recent order events.
+ * Assigns the monotonic sequence numbers and serves replays to reconnecting clients.
+ * The stream ID changes on every restart, when sequence numbers start again from 1.
+ * Only used with the simple broker, where this instance sees and serves every event.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "simple", matchIfMissing = true)
+public class OrderEventBuffer implements OrderEventStream {
+
+    private final String streamId = UUID.randomUUID().toString();
+    private final OrderEventResponse[] ring;
+    private long latestSeq;
+
+    public OrderEventBuffer(@Value("${app.orders.events.buffer-size:1024}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Order event buffer size must be positive");
+        }
+        this.ring = new OrderEventResponse[capacity];
+    }
+
+    @Override
+    public void beforeFanout(OrderEventResponse frame) {
+        // Sequenced on delivery, so events that roll back never take a number
+    }
+
+    /**
+     * Stamp the stream ID and the next sequence number on the event and store it, overwriting the oldest entry.
+     */
+    @Override
+    public synchronized OrderEventResponse append(OrderEventResponse event) {
+        event.setStreamId(streamId);
+        event.setSeq(++latestSeq);
+        ring[slot(latestSeq)] = event;
+        return event;
+    }
+
+    @Override
+    public synchronized OrderEventReplayResponse replaySince(long sinceSeq, String clientStreamId) {
+        long oldestSeq = Math.max(1, latestSeq - ring.length + 1);
+        boolean sameStream = clientStreamId == null || clientStreamId.equals(streamId);
+        boolean complete = sameStream && sinceSeq <= latestSeq && sinceSeq >= oldestSeq - 1;
+
+        List<OrderEventResponse> events = new ArrayList<>();
+        if (complete) {
+            for (long seq = sinceSeq + 1; seq <= latestSeq; seq++) {
+                events.add(ring[slot(seq)]);
+            }
+        }
+        return new OrderEventReplayResponse(streamId, latestSeq, complete, events);
+    }
+
+    private int slot(long seq) {
+        return (int) ((seq - 1) % ring.length);
+    }
+}
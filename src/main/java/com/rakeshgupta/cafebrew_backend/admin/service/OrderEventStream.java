@@ -0,0 +1,31 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventReplayResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+
+/**
+ * Assigns the sequence numbers of the /topic/orders/events stream and replays it to reconnecting clients.
+ * A single instance sequences frames in memory as it delivers them ({@link OrderEventBuffer}); with several
+ * instances the sequence lives in the database and is assigned when the event is published
+ * ({@link PostgresOrderEventStream}), so every client sees one stream whichever instance it talks to.
+ */
+public interface OrderEventStream {
+
+    /**
+     * Called in the publishing transaction, before the event is handed to the fan-out.
+     * Stamps the stream ID and sequence number on the frame if the stream is sequenced centrally.
+     */
+    void beforeFanout(OrderEventResponse frame);
+
+    /**
+     * Called when this instance broadcasts the frame. Stamps and stores it if the stream is sequenced locally.
+     *
+     * @return the frame to send
+     */
+    OrderEventResponse append(OrderEventResponse frame);
+
+    /**
+     * Events with a sequence number greater than {@code sinceSeq}, oldest first.
+     */
+    OrderEventReplayResponse replaySince(long sinceSeq, String clientStreamId);
+}
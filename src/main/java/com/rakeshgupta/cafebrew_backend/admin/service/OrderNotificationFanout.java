@@ -0,0 +1,44 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Carries order notifications to every application instance.
+ * {@link OrderNotificationService} publishes here and subscribes to receive what it must
+ * broadcast to its own WebSocket clients, so the same code path serves one instance or many.
+ */
+public interface OrderNotificationFanout {
+
+    /**
+     * Hand an unsequenced event to every instance, including this one.
+     */
+    void publish(OrderEventResponse event);
+
+    /**
+     * Register a consumer for every event this instance receives, e.g. the local WebSocket broadcast
+     * or an in-memory view of active orders.
+     */
+    void subscribe(Consumer<OrderEventResponse> consumer);
+
+    /**
+     * Throughput and latency counters for this instance.
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * cafebrew.orders.fanout.latency: publish-to-delivery time of each event on this instance,
+     * so per-instance fan-out throughput (count) and latency (percentiles) can be compared across instances.
+     */
+    static Timer latencyTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("cafebrew.orders.fanout.latency")
+                .description("Time from publishing an order event to delivering it on this instance")
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
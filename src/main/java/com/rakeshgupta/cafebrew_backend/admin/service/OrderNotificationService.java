@@ -1,24 +1,51 @@
 package com.rakeshgupta.cafebrew_backend.admin.service;
 
 import com.rakeshgupta.cafebrew_backend.admin.dto.response.AdminOrderResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventReplayResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderEventType;
+import com.rakeshgupta.cafebrew_backend.common.enums.PaymentStatus;
+import com.rakeshgupta.cafebrew_backend.config.SlowConsumerSessionDecorator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderNotificationService {
 
+    /**
+     * Sequenced delta stream. Clients track the last seq they applied and call
+     * GET /api/admin/orders/events?since={seq} after reconnecting.
+     */
+    public static final String ORDER_EVENTS_TOPIC = "/topic/orders/events";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final OrderEventStream orderEventStream;
+    private final OrderNotificationFanout orderNotificationFanout;
+    private final ObservationRegistry observationRegistry;
+
+    @PostConstruct
+    public void subscribe() {
+        orderNotificationFanout.subscribe(this::deliver);
+    }
 
     /**
      * Notify all connected clients about a new order
      */
     public void notifyNewOrder(AdminOrderResponse order) {
         log.info("Broadcasting new order notification: {}", order.getOrderCode());
-        messagingTemplate.convertAndSend("/topic/orders/new", order);
+        OrderEventResponse event = newEvent(OrderEventType.CREATED, order.getOrderId(), order.getOrderCode());
+        event.setOrder(order);
+        publish(event);
     }
 
     /**
@@ -26,7 +53,22 @@ public class OrderNotificationService {
      */
     public void notifyOrderStatusUpdate(AdminOrderResponse order) {
         log.info("Broadcasting order status update: {} -> {}", order.getOrderCode(), order.getStatus());
-        messagingTemplate.convertAndSend("/topic/orders/status", order);
+        OrderEventResponse event = newEvent(OrderEventType.STATUS_CHANGED, order.getOrderId(), order.getOrderCode());
+        event.setStatus(order.getStatus());
+        // The full order travels with the event for the legacy status topic and is stripped from the delta frame
+        event.setOrder(order);
+        publish(event);
+    }
+
+    /**
+     * Notify all connected clients that an order's payment status changed.
+     * Only published on the sequenced stream.
+     */
+    public void notifyPaymentStatusUpdate(Long orderId, String orderCode, PaymentStatus paymentStatus) {
+        log.info("Broadcasting payment status update: {} -> {}", orderCode, paymentStatus);
+        OrderEventResponse event = newEvent(OrderEventType.PAYMENT_STATUS_CHANGED, orderId, orderCode);
+        event.setPaymentStatus(paymentStatus);
+        publish(event);
     }
 
     /**
@@ -34,6 +76,74 @@ public class OrderNotificationService {
      */
     public void notifyOrdersRefresh() {
         log.info("Broadcasting orders refresh notification");
-        messagingTemplate.convertAndSend("/topic/orders/refresh", "refresh");
+        publish(newEvent(OrderEventType.RESYNC, null, null));
+    }
+
+    /**
+     * Events published after {@code sinceSeq}, for clients catching up after a reconnect
+     */
+    public OrderEventReplayResponse replayEvents(long sinceSeq, String streamId) {
+        return orderEventStream.replaySince(sinceSeq, streamId);
+    }
+
+    /**
+     * Sequence the event if the stream is shared between instances, then hand it to the fan-out.
+     * The sequence number travels with the event, so every instance sends the same frame.
+     */
+    private void publish(OrderEventResponse event) {
+        OrderEventResponse frame = toFrame(event);
+        orderEventStream.beforeFanout(frame);
+        event.setStreamId(frame.getStreamId());
+        event.setSeq(frame.getSeq());
+        orderNotificationFanout.publish(event);
+    }
+
+    /**
+     * Broadcast an event received from the fan-out to clients connected to this instance,
+     * on the legacy topics and as a sequenced delta frame.
+     * Sequence assignment and send happen under one lock so frames reach the broker in seq order.
+     */
+    private void deliver(OrderEventResponse event) {
+        Observation.createNotStarted("cafebrew.stomp.send", observationRegistry)
+                .contextualName("stomp send " + event.getType())
+                .lowCardinalityKeyValue("type", event.getType().name())
+                .observe(() -> send(event));
+    }
+
+    private synchronized void send(OrderEventResponse event) {
+        switch (event.getType()) {
+            case CREATED -> messagingTemplate.convertAndSend("/topic/orders/new", event.getOrder());
+            // Keyed by order so a slow session only gets the latest full order
+            case STATUS_CHANGED -> messagingTemplate.convertAndSend("/topic/orders/status", event.getOrder(),
+                    Map.of(SlowConsumerSessionDecorator.CONFLATION_KEY_HEADER, event.getOrderId()));
+            case RESYNC -> messagingTemplate.convertAndSend("/topic/orders/refresh", "refresh");
+            default -> { }
+        }
+        messagingTemplate.convertAndSend(ORDER_EVENTS_TOPIC, orderEventStream.append(toFrame(event)));
+    }
+
+    /**
+     * The delta frame for an event. The full order travels with STATUS_CHANGED for the legacy
+     * status topic and is stripped here.
+     */
+    private static OrderEventResponse toFrame(OrderEventResponse event) {
+        if (event.getType() != OrderEventType.STATUS_CHANGED) {
+            return event;
+        }
+        OrderEventResponse frame = newEvent(event.getType(), event.getOrderId(), event.getOrderCode());
+        frame.setStreamId(event.getStreamId());
+        frame.setSeq(event.getSeq());
+        frame.setStatus(event.getStatus());
+        frame.setOccurredAt(event.getOccurredAt());
+        return frame;
+    }
+
+    private static OrderEventResponse newEvent(OrderEventType type, Long orderId, String orderCode) {
+        OrderEventResponse event = new OrderEventResponse();
+        event.setType(type);
+        event.setOrderId(orderId);
+        event.setOrderCode(orderCode);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
     }
 }
@@ -0,0 +1,113 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventReplayResponse;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order event stream shared by all instances, for the postgres and relay broker modes.
+ * The sequence number is taken from the order_event_sequence row in the publishing transaction, whose
+ * row lock is held until commit, so numbers are gap-free and in commit order; the frame is stored in
+ * order_events in the same transaction, so any instance can serve a replay.
+ * With LISTEN/NOTIFY every instance delivers frames in seq order. Through a relay, frames published by
+ * different instances may arrive slightly out of order: clients ignore a seq they have already applied
+ * and replay to fill a gap.
+ */
+@Component
+@ConditionalOnExpression("'${app.websocket.broker.mode:simple}' != 'simple'")
+@Slf4j
+public class PostgresOrderEventStream implements OrderEventStream {
+
+    /**
+     * One stream per database, so it survives restarts and is the same on every instance.
+     */
+    public static final String STREAM_ID = "orders";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int retained;
+
+    public PostgresOrderEventStream(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                    @Value("${app.orders.events.buffer-size:1024}") int retained) {
+        if (retained <= 0) {
+            throw new IllegalArgumentException("Order event buffer size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.retained = retained;
+    }
+
+    @Override
+    @Transactional
+    public void beforeFanout(OrderEventResponse frame) {
+        Long seq = jdbcTemplate.queryForObject(
+                "UPDATE order_event_sequence SET last_seq = last_seq + 1 WHERE id = 1 RETURNING last_seq", Long.class);
+        frame.setStreamId(STREAM_ID);
+        frame.setSeq(seq);
+        jdbcTemplate.update("INSERT INTO order_events (seq, frame) VALUES (?, ?)", seq, serialize(frame));
+    }
+
+    @Override
+    public OrderEventResponse append(OrderEventResponse frame) {
+        return frame;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderEventReplayResponse replaySince(long sinceSeq, String clientStreamId) {
+        long latestSeq = jdbcTemplate.queryForObject("SELECT last_seq FROM order_event_sequence WHERE id = 1", Long.class);
+        long oldestSeq = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MIN(seq), ?) FROM order_events", Long.class, latestSeq + 1);
+        boolean sameStream = clientStreamId == null || clientStreamId.equals(STREAM_ID);
+        boolean complete = sameStream && sinceSeq <= latestSeq && sinceSeq >= oldestSeq - 1;
+
+        List<OrderEventResponse> events = new ArrayList<>();
+        if (complete) {
+            // Frames committed after latestSeq was read are left for the next replay
+            List<String> frames = jdbcTemplate.queryForList(
+                    "SELECT frame FROM order_events WHERE seq > ? AND seq <= ? ORDER BY seq",
+                    String.class, sinceSeq, latestSeq);
+            for (String frame : frames) {
+                events.add(deserialize(frame));
+            }
+        }
+        return new OrderEventReplayResponse(STREAM_ID, latestSeq, complete, events);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.events.prune-interval-ms:60000}")
+    public void prune() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM order_events WHERE seq <= (SELECT last_seq FROM order_event_sequence WHERE id = 1) - ?",
+                retained);
+        if (deleted > 0) {
+            log.debug("Pruned {} order events beyond the last {}", deleted, retained);
+        }
+    }
+
+    private String serialize(OrderEventResponse frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event", e);
+        }
+    }
+
+    private OrderEventResponse deserialize(String frame) {
+        try {
+            return objectMapper.readValue(frame, OrderEventResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored order event", e);
+        }
+    }
+}
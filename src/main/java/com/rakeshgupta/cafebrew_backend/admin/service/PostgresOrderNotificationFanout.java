@@ -0,0 +1,212 @@
+package com.rakeshgupta.cafebrew_backend.admin.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderEventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fans order notifications out to every instance through Postgres LISTEN/NOTIFY.
+ * NOTIFY is transactional, so events are only delivered once the order change commits,
+ * and every listener receives them in commit order. Each instance, including the publisher,
+ * broadcasts what it receives to its own WebSocket clients on the simple broker.
+ * The listener holds one dedicated connection outside the Hikari pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresOrderNotificationFanout implements OrderNotificationFanout {
+
+    private static final String CHANNEL = "cafebrew_order_events";
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong oversized = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    private final List<Consumer<OrderEventResponse>> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Timer latencyTimer;
+
+    @PostConstruct
+    public void start() {
+        latencyTimer = OrderNotificationFanout.latencyTimer(meterRegistry, "postgres");
+        running = true;
+        listenerThread = new Thread(this::listen, "order-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public void publish(OrderEventResponse event) {
+        String payload = serialize(new Envelope(System.currentTimeMillis(), event));
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            oversized.incrementAndGet();
+            log.warn("Order event for {} exceeds the NOTIFY payload limit, sending RESYNC instead", event.getOrderCode());
+            payload = serialize(new Envelope(System.currentTimeMillis(), resyncEvent(event)));
+        }
+        // Joins the caller's transaction, so the notification is sent on commit and dropped on rollback
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        published.incrementAndGet();
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderEventResponse> consumer) {
+        consumers.add(consumer);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        long count = received.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", "postgres");
+        stats.put("published", published.get());
+        stats.put("oversized", oversized.get());
+        stats.put("received", count);
+        stats.put("failed", failed.get());
+        stats.put("reconnects", reconnects.get());
+        stats.put("avgLatencyMillis", count == 0 ? 0.0 : (double) totalLatencyMillis.get() / count);
+        stats.put("maxLatencyMillis", maxLatencyMillis.get());
+        return stats;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for order notifications on channel {}", CHANNEL);
+                if (reconnecting) {
+                    // Anything sent while disconnected is lost; tell local clients to reload
+                    deliver(resyncEvent(new OrderEventResponse()));
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                reconnecting = true;
+                reconnects.incrementAndGet();
+                log.warn("Order notification listener lost its connection, retrying in {} ms: {}",
+                        RECONNECT_DELAY_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(payload, Envelope.class);
+        } catch (JsonProcessingException e) {
+            failed.incrementAndGet();
+            log.error("Failed to read order notification: {}", e.getMessage(), e);
+            return;
+        }
+        long latency = Math.max(0, System.currentTimeMillis() - envelope.publishedAtMillis());
+        received.incrementAndGet();
+        totalLatencyMillis.addAndGet(latency);
+        maxLatencyMillis.accumulateAndGet(latency, Math::max);
+        latencyTimer.record(latency, TimeUnit.MILLISECONDS);
+        deliver(envelope.event());
+    }
+
+    private void deliver(OrderEventResponse event) {
+        for (Consumer<OrderEventResponse> consumer : consumers) {
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("Failed to deliver order notification for {}: {}", event.getOrderCode(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private String serialize(Envelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event", e);
+        }
+    }
+
+    private static OrderEventResponse resyncEvent(OrderEventResponse source) {
+        OrderEventResponse event = new OrderEventResponse();
+        // Keeps the sequence number the event already took, so clients see no gap before the reload
+        event.setStreamId(source.getStreamId());
+        event.setSeq(source.getSeq());
+        event.setType(OrderEventType.RESYNC);
+        event.setOrderId(source.getOrderId());
+        event.setOrderCode(source.getOrderCode());
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+
+    private record Envelope(long publishedAtMillis, OrderEventResponse event) {
+    }
+}
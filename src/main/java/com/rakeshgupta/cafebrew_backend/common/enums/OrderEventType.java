@@ -0,0 +1,9 @@
+package com.rakeshgupta.cafebrew_backend.common.enums;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+    PAYMENT_STATUS_CHANGED,
+    // Events were lost; clients must reload orders over REST
+    RESYNC
+}
@@ -0,0 +1,32 @@
+package com.rakeshgupta.cafebrew_backend.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the catalog services whenever a menu item, category or extra ingredient
+ * is created, updated or deleted.
+ * Listeners that keep in-memory copies of the catalog rebuild them after the
+ * surrounding transaction commits.
+ * {@code remote} events are republished by CatalogVersionTracker for changes committed
+ * on another instance.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CatalogChangedEvent {
+
+    public enum Type {
+        MENU_ITEM,
+        CATEGORY,
+        EXTRA_INGREDIENT
+    }
+
+    private final Type type;
+    private final boolean remote;
+
+    public CatalogChangedEvent(Type type) {
+        this(type, false);
+    }
+}
@@ -0,0 +1,17 @@
+package com.rakeshgupta.cafebrew_backend.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when objects are added to the pending image delete queue, so the worker can
+ * drain them as soon as the surrounding transaction commits instead of at its next tick.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ImageDeletesQueuedEvent {
+
+    private final int count;
+}
@@ -0,0 +1,191 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate limits and load shedding for the public, database-bound endpoints.
+ * <ul>
+ *   <li>Rate: a token bucket per endpoint class and IP. Requests with an X-Client-Id (e.g. a kiosk
+ *       or table tablet) take from a stricter bucket for that client first, so one busy device
+ *       cannot use up the budget of the others behind the same IP, and rotating client IDs still
+ *       hits the IP bucket. Over the limit: 429.</li>
+ *   <li>Concurrency: at most app.admission.max-concurrent of these requests in flight, and none
+ *       admitted while app.admission.max-pending-connections threads already wait for a pooled
+ *       connection. Over either: 503, before the Hikari pool saturates. The payment webhook is
+ *       never shed, as a dropped webhook delays payment confirmation until Razorpay retries.</li>
+ * </ul>
+ * Applied by {@link AdmissionControlFilter}; admin and cached catalog endpoints are not limited.
+ */
+@Component
+@Slf4j
+public class AdmissionControl {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    public enum EndpointClass {
+        ORDER_PLACE("order-place", 10, 5, true),
+        ORDER_TRACK("order-track", 60, 20, true),
+        PAYMENT_WEBHOOK("payment-webhook", 300, 100, false);
+
+        private final String key;
+        private final int defaultPerMinute;
+        private final int defaultBurst;
+        private final boolean sheddable;
+
+        EndpointClass(String key, int defaultPerMinute, int defaultBurst, boolean sheddable) {
+            this.key = key;
+            this.defaultPerMinute = defaultPerMinute;
+            this.defaultBurst = defaultBurst;
+            this.sheddable = sheddable;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Whether requests of this class are subject to {@link #tryEnter(EndpointClass)}.
+         */
+        public boolean isSheddable() {
+            return sheddable;
+        }
+    }
+
+    public enum Rejection { RATE_LIMITED, OVERLOADED }
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxPendingConnections;
+    private final Map<EndpointClass, StripedRateLimiter> clientLimiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, StripedRateLimiter> ipLimiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Map<Rejection, Counter>> rejections = new EnumMap<>(EndpointClass.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ObjectProvider<DataSource> dataSource;
+    private volatile HikariDataSource hikariDataSource;
+
+    public AdmissionControl(Environment environment, MeterRegistry meterRegistry, ObjectProvider<DataSource> dataSource) {
+        this.enabled = environment.getProperty("app.admission.enabled", Boolean.class, true);
+        this.maxConcurrent = environment.getProperty("app.admission.max-concurrent", Integer.class, 20);
+        this.maxPendingConnections = environment.getProperty("app.admission.max-pending-connections", Integer.class, 4);
+        int stripes = environment.getProperty("app.rate-limit.stripes", Integer.class, 4096);
+        int ipMultiplier = environment.getProperty("app.rate-limit.ip-multiplier", Integer.class, 10);
+        this.dataSource = dataSource;
+
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            String prefix = "app.rate-limit." + endpoint.key;
+            int perMinute = environment.getProperty(prefix + ".per-minute", Integer.class, endpoint.defaultPerMinute);
+            int burst = environment.getProperty(prefix + ".burst", Integer.class, endpoint.defaultBurst);
+            clientLimiters.put(endpoint, new StripedRateLimiter(perMinute, burst, stripes));
+            ipLimiters.put(endpoint, new StripedRateLimiter(perMinute * ipMultiplier, burst * ipMultiplier, stripes));
+
+            Map<Rejection, Counter> counters = new EnumMap<>(Rejection.class);
+            for (Rejection rejection : Rejection.values()) {
+                counters.put(rejection, Counter.builder("cafebrew.admission.rejected")
+                        .description("Requests rejected by rate limiting (429) or load shedding (503)")
+                        .tag("endpoint", endpoint.key)
+                        .tag("reason", rejection.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            rejections.put(endpoint, counters);
+        }
+        Gauge.builder("cafebrew.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Admission-controlled requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The endpoint class of a request, or null if it is not admission-controlled.
+     */
+    public EndpointClass classify(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if (HttpMethod.POST.matches(method) && uri.equals("/api/orders")) {
+            return EndpointClass.ORDER_PLACE;
+        }
+        if (HttpMethod.GET.matches(method) && uri.startsWith("/api/orders/track/")) {
+            return EndpointClass.ORDER_TRACK;
+        }
+        if (HttpMethod.POST.matches(method) && uri.equals("/api/payments/webhook")) {
+            return EndpointClass.PAYMENT_WEBHOOK;
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token from the client's bucket, if the request names a client, and then from the IP's.
+     * The IP's bucket is only charged once the client's has admitted the request.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until the request would be allowed
+     */
+    public long tryAcquireRate(EndpointClass endpoint, String clientIp, String clientId) {
+        long wait = clientId == null || clientId.isBlank()
+                ? 0 : clientLimiters.get(endpoint).tryAcquire(clientIp + '|' + clientId);
+        if (wait == 0) {
+            wait = ipLimiters.get(endpoint).tryAcquire(clientIp);
+        }
+        if (wait > 0) {
+            rejections.get(endpoint).get(Rejection.RATE_LIMITED).increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Admits the request unless too many are in flight or the connection pool already has
+     * waiters. Every successful call must be paired with {@link #exit()}.
+     */
+    public boolean tryEnter(EndpointClass endpoint) {
+        if (inFlight.incrementAndGet() > maxConcurrent || threadsAwaitingConnection() >= maxPendingConnections) {
+            inFlight.decrementAndGet();
+            rejections.get(endpoint).get(Rejection.OVERLOADED).increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    private int threadsAwaitingConnection() {
+        HikariDataSource hikari = hikariDataSource;
+        if (hikari == null) {
+            hikari = resolveHikari();
+            if (hikari == null) {
+                return 0;
+            }
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    private HikariDataSource resolveHikari() {
+        DataSource candidate = dataSource.getIfAvailable();
+        try {
+            if (candidate != null && candidate.isWrapperFor(HikariDataSource.class)) {
+                hikariDataSource = candidate.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not unwrap the Hikari pool for admission control: {}", e.getMessage());
+        }
+        return hikariDataSource;
+    }
+}
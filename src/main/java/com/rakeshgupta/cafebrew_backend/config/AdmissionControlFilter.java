@@ -0,0 +1,83 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link AdmissionControl} to public order, tracking and webhook requests.
+ * Runs in the security chain right after CORS, so browsers can read the 429/503 responses.
+ * Rejections carry Retry-After and the same body as GlobalExceptionHandler errors.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionControl.EndpointClass endpoint = admissionControl.classify(request);
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = admissionControl.tryAcquireRate(endpoint, request.getRemoteAddr(),
+                request.getHeader(AdmissionControl.CLIENT_ID_HEADER));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.debug("Rate limited {} from {}", endpoint.getKey(), request.getRemoteAddr());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "Too many requests, please retry shortly");
+            return;
+        }
+
+        if (!endpoint.isSheddable()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!admissionControl.tryEnter(endpoint)) {
+            log.warn("Shedding {} request: server busy", endpoint.getKey());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, please retry shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionControl.exit();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
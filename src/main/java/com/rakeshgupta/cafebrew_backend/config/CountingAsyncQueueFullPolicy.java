@@ -0,0 +1,35 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What the async loggers do when their ring buffer is full (log4j2.asyncQueueFullPolicy in
+ * log4j2.component.properties): INFO and below are dropped so request threads never wait on
+ * stdout, WARN and above still get through. Dropped events are counted and published as
+ * cafebrew.logging.events.dropped.
+ * Instantiated by Log4j2 by class name, before the Spring context exists.
+ */
+public class CountingAsyncQueueFullPolicy implements AsyncQueueFullPolicy {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private final AsyncQueueFullPolicy delegate = new DiscardingAsyncQueueFullPolicy(Level.INFO);
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        EventRoute route = delegate.getRoute(backgroundThreadId, level);
+        if (route == EventRoute.DISCARD) {
+            DROPPED.increment();
+        }
+        return route;
+    }
+
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+}
@@ -4,7 +4,6 @@ import com.rakeshgupta.cafebrew_backend.admin.entity.AdminUser;
 import com.rakeshgupta.cafebrew_backend.admin.repository.AdminUserRepository;
 import com.rakeshgupta.cafebrew_backend.common.enums.AdminRole;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
-import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
 import com.rakeshgupta.cafebrew_backend.customer.repository.CategoryRepository;
 import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,15 +12,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Data Initializer to create default admin users and categories on application startup.
  * Creates an OWNER and STAFF user for admin panel access.
  * Seeds default categories and migrates existing menu items to use Category entities.
+ * Independent steps run in parallel, each in its own transaction. Runners finish before the
+ * startup warmup, so /api/health keeps reporting WARMING_UP until initialization is done.
  */
 @Component
 @RequiredArgsConstructor
@@ -52,25 +56,50 @@ public class DataInitializer implements CommandLineRunner {
     private boolean defaultCategoriesEnabled;
 
     @Override
-    @Transactional
     public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+        List<Runnable> steps = new ArrayList<>();
         if (defaultAdminEnabled) {
-            createDefaultAdminUsers();
+            // Password hashing dominates here, so each user gets its own task
+            steps.add(() -> createUserIfNotExists(ownerUsername, ownerPassword, AdminRole.OWNER));
+            steps.add(() -> createUserIfNotExists(staffUsername, staffPassword, AdminRole.STAFF));
         } else {
             log.info("Default admin user creation is disabled.");
         }
         
         if (defaultCategoriesEnabled) {
-            createDefaultCategories();
-            migrateMenuItemsToCategories();
+            steps.add(() -> {
+                createDefaultCategories();
+                migrateMenuItemsToCategories();
+            });
         } else {
             log.info("Default category creation is disabled.");
         }
+        
+        runInParallel(steps);
+        log.info("Data initialization finished in {} ms", (System.nanoTime() - start) / 1_000_000);
     }
 
-    private void createDefaultAdminUsers() {
-        createUserIfNotExists(ownerUsername, ownerPassword, AdminRole.OWNER);
-        createUserIfNotExists(staffUsername, staffPassword, AdminRole.STAFF);
+    private void runInParallel(List<Runnable> steps) throws Exception {
+        if (steps.isEmpty()) {
+            return;
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(steps.size(), runnable -> {
+            Thread thread = new Thread(runnable, "data-init");
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            CompletableFuture.allOf(steps.stream()
+                            .map(step -> CompletableFuture.runAsync(step, executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } catch (CompletionException e) {
+            // Fail startup with the step's own exception, as the serial version did
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     private void createUserIfNotExists(String username, String password, AdminRole role) {
@@ -115,50 +144,25 @@ public class DataInitializer implements CommandLineRunner {
     /**
      * Migrates existing menu items that have string categories to reference Category entities.
      * This maintains backward compatibility by linking items with legacy category strings
-     * to the corresponding Category entity.
+     * to the corresponding Category entity, creating categories that do not exist yet.
+     * Two set-based statements, so the cost does not grow with the number of menu items.
      */
     private void migrateMenuItemsToCategories() {
-        List<MenuItem> menuItems = menuItemRepository.findAll();
-        int migratedCount = 0;
-        
-        for (MenuItem menuItem : menuItems) {
-            // Skip if already has a category entity reference
-            if (menuItem.getCategoryEntity() != null) {
-                continue;
-            }
-            
-            // Get the legacy category string
-            String legacyCategory = menuItem.getCategory();
-            if (legacyCategory == null || legacyCategory.isBlank()) {
-                log.warn("Menu item '{}' (ID: {}) has no category. Skipping migration.", 
-                        menuItem.getName(), menuItem.getId());
-                continue;
-            }
-            
-            // Find or create the category
-            Optional<Category> categoryOpt = categoryRepository.findByName(legacyCategory);
-            Category category;
-            
-            if (categoryOpt.isPresent()) {
-                category = categoryOpt.get();
-            } else {
-                // Create a new category for this legacy category string
-                int nextDisplayOrder = (int) categoryRepository.count() + 1;
-                category = new Category(legacyCategory, null, nextDisplayOrder);
-                category = categoryRepository.save(category);
-                log.info("Created new category '{}' from legacy menu item category", legacyCategory);
-            }
-            
-            // Update the menu item to reference the category entity
-            menuItem.setCategoryEntity(category);
-            menuItemRepository.save(menuItem);
-            migratedCount++;
+        int createdCount = categoryRepository.insertMissingLegacyCategories();
+        if (createdCount > 0) {
+            log.info("Created {} new categories from legacy menu item categories", createdCount);
         }
         
+        int migratedCount = menuItemRepository.linkLegacyCategories();
         if (migratedCount > 0) {
             log.info("Migrated {} menu items to use Category entities", migratedCount);
         } else {
             log.info("No menu items needed migration to Category entities");
         }
+        
+        long unlinkedCount = menuItemRepository.countByCategoryEntityIsNull();
+        if (unlinkedCount > 0) {
+            log.warn("{} menu items have no usable category and were not migrated", unlinkedCount);
+        }
     }
-}
\ No newline at end of file
+}
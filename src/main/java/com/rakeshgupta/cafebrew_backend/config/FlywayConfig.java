@@ -0,0 +1,29 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    /**
+     * Skips migrations during the AppCDS training run at image build time, where no database
+     * is reachable. Checked at runtime because Spring AOT fixes the spring.flyway.enabled
+     * condition when the image is built.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.startup.training-run:false}") boolean trainingRun) {
+        return flyway -> {
+            if (trainingRun) {
+                log.info("Training run: skipping Flyway migrations");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
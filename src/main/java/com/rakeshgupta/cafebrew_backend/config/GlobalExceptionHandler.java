@@ -3,8 +3,12 @@ package com.rakeshgupta.cafebrew_backend.config;
 import com.rakeshgupta.cafebrew_backend.common.exception.*;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -150,6 +154,21 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, message);
     }
 
+    /**
+     * Handle no database connection within the pool's wait budget (connection-timeout), or the
+     * database being unreachable. Returns 503 Service Unavailable with Retry-After, so clients
+     * back off instead of seeing a generic 500.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(NestedRuntimeException ex) {
+        log.warn("No database connection available: {}", ex.getMostSpecificCause().getMessage());
+        ResponseEntity<Map<String, Object>> error =
+                buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntime(RuntimeException ex) {
         log.error("Internal error: {}", ex.getMessage(), ex);
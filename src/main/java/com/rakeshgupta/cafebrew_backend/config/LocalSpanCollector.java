@@ -0,0 +1,99 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps finished spans for offline analysis, with no collector infrastructure.
+ * Spans are Zipkin v2 JSON: the most recent ones stay in a bounded in-memory buffer (served by
+ * GET /api/admin/traces), and with a file configured every span is also appended to it as
+ * one JSON line, which Zipkin's UI can load after wrapping the lines in a JSON array.
+ */
+@Slf4j
+public class LocalSpanCollector extends SpanHandler {
+
+    private final int capacity;
+    private final Deque<String> recent;
+    private final BufferedWriter fileWriter;
+
+    public LocalSpanCollector(int capacity, Path file) throws IOException {
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+        this.fileWriter = file == null ? null : Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (file != null) {
+            log.info("Writing trace spans to {}", file.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED || (capacity == 0 && fileWriter == null)) {
+            return true;
+        }
+        String json = span.toString();
+        if (capacity > 0) {
+            synchronized (recent) {
+                if (recent.size() == capacity) {
+                    recent.removeFirst();
+                }
+                recent.addLast(json);
+            }
+        }
+        if (fileWriter != null) {
+            writeLine(json);
+        }
+        return true;
+    }
+
+    private void writeLine(String json) {
+        synchronized (fileWriter) {
+            try {
+                fileWriter.write(json);
+                fileWriter.newLine();
+                fileWriter.flush();
+            } catch (IOException e) {
+                log.warn("Failed to write trace span: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Buffered spans as a JSON array, oldest first, optionally only those of one trace.
+     */
+    public String getRecentSpansJson(String traceId) {
+        List<String> spans = new ArrayList<>();
+        String traceIdField = traceId == null ? null : "\"traceId\":\"" + traceId + "\"";
+        synchronized (recent) {
+            for (String span : recent) {
+                if (traceIdField == null || span.contains(traceIdField)) {
+                    spans.add(span);
+                }
+            }
+        }
+        return "[" + String.join(",", spans) + "]";
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (fileWriter != null) {
+            synchronized (fileWriter) {
+                fileWriter.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Latency distribution settings for every timer, catalog cache and async logging meters.
+ * app.metrics.low-overhead (default true) keeps each timer to a fixed set of SLO buckets, so
+ * percentiles are computed in Prometheus from a bounded histogram. When false, timers also
+ * publish the full percentile histogram and client-side p50/p95/p99, which cost more memory
+ * and many more time series.
+ * Metrics are scraped from /actuator/prometheus on the management port.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final long[] SLO_BUCKETS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    // Connection waits are normally well under 5 ms and capped by the pool's connection-timeout
+    private static final long[] POOL_WAIT_SLO_BUCKETS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2000};
+    private static final String POOL_WAIT_TIMER = "hikaricp.connections.acquire";
+
+    @Bean
+    public MeterFilter timerDistributionFilter(@Value("${app.metrics.low-overhead:true}") boolean lowOverhead) {
+        DistributionStatisticConfig poolWaitConfig = lowOverhead
+                ? DistributionStatisticConfig.builder()
+                        .percentilesHistogram(false)
+                        .serviceLevelObjectives(sloBucketsNanos(POOL_WAIT_SLO_BUCKETS_MILLIS))
+                        .build()
+                : null;
+        DistributionStatisticConfig timerConfig = lowOverhead
+                ? DistributionStatisticConfig.builder()
+                        .percentilesHistogram(false)
+                        .serviceLevelObjectives(sloBucketsNanos(SLO_BUCKETS_MILLIS))
+                        .build()
+                : DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build();
+
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER) {
+                    return config;
+                }
+                if (poolWaitConfig != null && id.getName().equals(POOL_WAIT_TIMER)) {
+                    return poolWaitConfig.merge(config);
+                }
+                return timerConfig.merge(config);
+            }
+        };
+    }
+
+    /**
+     * Second-level and query cache hit ratios, with the underlying hit and miss counts.
+     * Only populated while Hibernate statistics are enabled (HIBERNATE_L2_CACHE_ENABLED=true).
+     */
+    @Bean
+    public MeterBinder catalogCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            registerCache(registry, stats, "second-level",
+                    Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+            registerCache(registry, stats, "query",
+                    Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        };
+    }
+
+    /**
+     * Log events dropped because the async logger ring buffer was full, and its free slots.
+     */
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("cafebrew.logging.events.dropped", CountingAsyncQueueFullPolicy.class,
+                            policy -> CountingAsyncQueueFullPolicy.getDroppedCount())
+                    .description("Log events discarded because the async logger ring buffer was full")
+                    .register(registry);
+            if (LogManager.getContext(false) instanceof AsyncLoggerContext context) {
+                RingBufferAdmin ringBuffer = context.createRingBufferAdmin();
+                Gauge.builder("cafebrew.logging.ringbuffer.remaining", ringBuffer, RingBufferAdmin::getRemainingCapacity)
+                        .description("Free slots in the async logger ring buffer")
+                        .strongReference(true)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void registerCache(MeterRegistry registry, Statistics stats,
+                                      String cache, ToDoubleFunction<Statistics> hits,
+                                      ToDoubleFunction<Statistics> misses) {
+        FunctionCounter.builder("cafebrew.cache.requests", stats, hits)
+                .tag("cache", cache).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cafebrew.cache.requests", stats, misses)
+                .tag("cache", cache).tag("result", "miss")
+                .register(registry);
+        Gauge.builder("cafebrew.cache.hit.ratio", stats, s -> {
+                    double hitCount = hits.applyAsDouble(s);
+                    double lookups = hitCount + misses.applyAsDouble(s);
+                    return lookups == 0 ? 0.0 : hitCount / lookups;
+                })
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static double[] sloBucketsNanos(long[] bucketsMillis) {
+        double[] buckets = new double[bucketsMillis.length];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = Duration.ofMillis(bucketsMillis[i]).toNanos();
+        }
+        return buckets;
+    }
+}
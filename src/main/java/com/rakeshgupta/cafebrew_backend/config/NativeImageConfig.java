@@ -0,0 +1,141 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reflection and resource hints for the native-image build ({@code -Pnative}).
+ * Spring AOT already covers beans, controller signatures and JPA entity metadata; these
+ * hints cover what it cannot see: DTOs serialized through Map bodies, STOMP frames and
+ * ObjectMapper calls, JPQL constructor projections, and libraries that load classes by name.
+ * Only evaluated at build time; has no effect on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final String BASE_PACKAGE = "com.rakeshgupta.cafebrew_backend";
+
+        // Jwts and its ServiceLoader-discovered plugins are instantiated by class name
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        // ApiClient builds response entities with Class.forName("com.razorpay." + entity).getConstructor(JSONObject.class)
+        private static final List<String> RAZORPAY_ENTITIES = List.of(
+                "com.razorpay.Order",
+                "com.razorpay.Payment",
+                "com.razorpay.Refund"
+        );
+
+        // Resolved from configuration strings by Hibernate and JCache
+        private static final List<String> CACHE_PROVIDERS = List.of(
+                "org.hibernate.cache.jcache.internal.JCacheRegionFactory",
+                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"
+        );
+
+        // Named in log4j2.component.properties
+        private static final List<String> LOG4J2_ASYNC_TYPES = List.of(
+                "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector",
+                BASE_PACKAGE + ".config.CountingAsyncQueueFullPolicy"
+        );
+
+        private static final String PROXY_JDBC_OBJECT = "net.ttddyy.dsproxy.proxy.ProxyJdbcObject";
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            registerBindings(hints.reflection(), classLoader);
+
+            registerConstructors(hints.reflection(), JJWT_TYPES, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            registerConstructors(hints.reflection(), RAZORPAY_ENTITIES, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            registerConstructors(hints.reflection(), CACHE_PROVIDERS, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("reference.conf");
+            hints.resources().registerPattern("application.conf");
+
+            // The SDK jars ship their own native-image metadata; the region table is read as a resource
+            hints.resources().registerPattern("software/amazon/awssdk/regions/internal/region/endpoints.json");
+            hints.resources().registerPattern("META-INF/services/software.amazon.awssdk.*");
+
+            // Log4j2 finds its plugins through a generated index rather than classpath scanning
+            hints.resources().registerPattern("META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat");
+            hints.resources().registerPattern("log4j2*.xml");
+            hints.resources().registerPattern("log4j2*.json");
+            hints.resources().registerPattern("log4j2.component.properties");
+            registerConstructors(hints.reflection(), LOG4J2_ASYNC_TYPES, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // datasource-proxy wraps JDBC objects in JDK proxies (SqlInstrumentationConfig)
+            for (Class<?> jdbcType : List.of(DataSource.class, Connection.class, Statement.class,
+                    PreparedStatement.class, CallableStatement.class, ResultSet.class)) {
+                hints.proxies().registerJdkProxy(TypeReference.of(PROXY_JDBC_OBJECT), TypeReference.of(jdbcType));
+            }
+
+            // The WebP writer extracts its native library from the jar at first use
+            hints.resources().registerPattern("native/linux/64/libwebp-imageio.so");
+            hints.resources().registerPattern("META-INF/services/javax.imageio.spi.*");
+        }
+
+        /**
+         * Every DTO, entity and enum in the application gets Jackson binding hints (fields,
+         * accessors, constructors), which also covers the JPQL "SELECT new ..." projections.
+         */
+        private void registerBindings(ReflectionHints reflection, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+            scanner.addIncludeFilter(new RegexPatternTypeFilter(
+                    Pattern.compile(Pattern.quote(BASE_PACKAGE) + "\\..*\\.(dto|entity|enums)\\..*")));
+
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+                bindings.registerReflectionHints(reflection,
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+            // Private record serialized onto the Postgres NOTIFY channel
+            bindings.registerReflectionHints(reflection, ClassUtils.resolveClassName(
+                    BASE_PACKAGE + ".admin.service.PostgresOrderNotificationFanout$Envelope", classLoader));
+        }
+
+        private void registerConstructors(ReflectionHints reflection, List<String> typeNames, MemberCategory category) {
+            for (String typeName : typeNames) {
+                reflection.registerType(TypeReference.of(typeName), category);
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.rakeshgupta.cafebrew_backend.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
 import java.net.URI;
@@ -24,17 +27,52 @@ public class R2Config {
     @Value("${r2.secret.key}")
     private String secretKey;
 
+    // Overrides the Cloudflare endpoint, e.g. http://localhost:9000 for MinIO in local runs and tests
+    @Value("${r2.endpoint:}")
+    private String endpointOverride;
+
+    @Value("${r2.batch.parallelism:4}")
+    private int batchParallelism;
+
     @Bean
     @Lazy
-    public S3Client r2Client() {
-        String endpoint = String.format("https://%s.r2.cloudflarestorage.com", accountId);
-        
+    public S3Client r2Client(ObservationRegistry observationRegistry) {
         return S3Client.builder()
-                .endpointOverride(URI.create(endpoint))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .endpointOverride(endpoint())
+                .credentialsProvider(credentialsProvider())
                 .region(Region.of("auto"))
                 .forcePathStyle(true)
+                .overrideConfiguration(config -> config.addExecutionInterceptor(
+                        new R2ObservationInterceptor(observationRegistry, "sync")))
                 .build();
     }
+
+    /**
+     * Non-blocking client for batch uploads and deletes.
+     * The connection pool matches the batch parallelism, so a batch never queues for connections.
+     */
+    @Bean
+    @Lazy
+    public S3AsyncClient r2AsyncClient(ObservationRegistry observationRegistry) {
+        return S3AsyncClient.builder()
+                .endpointOverride(endpoint())
+                .credentialsProvider(credentialsProvider())
+                .region(Region.of("auto"))
+                .forcePathStyle(true)
+                .overrideConfiguration(config -> config.addExecutionInterceptor(
+                        new R2ObservationInterceptor(observationRegistry, "async")))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(batchParallelism))
+                .build();
+    }
+
+    private URI endpoint() {
+        String endpoint = endpointOverride.isBlank()
+                ? String.format("https://%s.r2.cloudflarestorage.com", accountId)
+                : endpointOverride;
+        return URI.create(endpoint);
+    }
+
+    private StaticCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
 }
@@ -0,0 +1,59 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Observes every R2 call, including retries, as cafebrew.r2.requests tagged with the S3
+ * operation and its outcome: a latency timer plus a client span under the caller's span.
+ * The observation is started on the calling thread, so async calls are parented correctly.
+ */
+class R2ObservationInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Observation> OBSERVATION = new ExecutionAttribute<>("cafebrew.r2.observation");
+
+    private final ObservationRegistry observationRegistry;
+    private final String client;
+
+    R2ObservationInterceptor(ObservationRegistry observationRegistry, String client) {
+        this.observationRegistry = observationRegistry;
+        this.client = client;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        String operation = String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+        Observation observation = Observation.createNotStarted("cafebrew.r2.requests", observationRegistry)
+                .contextualName("r2 " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("client", client)
+                .start();
+        executionAttributes.putAttribute(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        stop(executionAttributes, context.httpResponse().isSuccessful() ? "success" : "error", null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        stop(executionAttributes, "error", context.exception());
+    }
+
+    private void stop(ExecutionAttributes executionAttributes, String outcome, Throwable error) {
+        Observation observation = executionAttributes.getAttribute(OBSERVATION);
+        if (observation == null) {
+            return;
+        }
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+    }
+}
@@ -1,14 +0,0 @@
-package com.rakeshgupta.cafebrew_backend.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
-
-@Configuration
-public class RestClientConfig {
-
-    @Bean
-    public RestClient restClient() {
-        return RestClient.create();
-    }
-}
@@ -0,0 +1,114 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup check that every hot query predicate is backed by an index.
+ * An index counts if its leading columns match, whatever it is called, so indexes added
+ * by hand or by unique constraints are recognised too. A partial index only counts where the
+ * requirement names its WHERE predicate, so e.g. the kitchen's active-orders index on
+ * orders(created_at) does not stand in for the full one the dashboard sorts on.
+ * Missing ones are logged as warnings; the fix is a new migration under db/migration.
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexChecker {
+
+    /**
+     * Table name -> leading column lists that must be indexed, each optionally followed by
+     * " WHERE predicate" when a partial index with that predicate is enough.
+     */
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "orders", List.of("status,created_at", "created_at"),
+            "payments", List.of("razorpay_order_id WHERE razorpay_order_id IS NOT NULL", "order_id"),
+            "order_items", List.of("order_id"),
+            "order_item_extras", List.of("order_item_id", "extra_ingredient_id"),
+            "menu_items", List.of("category_id,available"),
+            "extra_ingredient_categories", List.of("category_id")
+    );
+
+    private static final String PREDICATE_SEPARATOR = " WHERE ";
+
+    private static final String INDEX_COLUMNS_SQL =
+            "SELECT string_agg(a.attname, ',' ORDER BY k.ord) AS columns, " +
+            "max(pg_get_expr(i.indpred, i.indrelid)) AS predicate " +
+            "FROM pg_index i " +
+            "JOIN pg_class t ON t.oid = i.indrelid " +
+            "CROSS JOIN LATERAL unnest(i.indkey) WITH ORDINALITY AS k(attnum, ord) " +
+            "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = k.attnum " +
+            "WHERE t.relname = ? AND t.relnamespace = current_schema()::regnamespace AND i.indisvalid " +
+            "GROUP BY i.indexrelid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        try {
+            List<String> missing = findMissingIndexes();
+            if (missing.isEmpty()) {
+                log.info("Schema index check passed: all {} hot-path indexes present", countRequired());
+            } else {
+                log.warn("Schema index check: {} missing index(es): {}", missing.size(), missing);
+            }
+        } catch (Exception e) {
+            log.warn("Schema index check could not run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns "table(columns)" for every required index that does not exist.
+     */
+    public List<String> findMissingIndexes() {
+        List<String> missing = new ArrayList<>();
+        REQUIRED_INDEXES.forEach((table, requiredColumns) -> {
+            List<ExistingIndex> existing = jdbcTemplate.query(INDEX_COLUMNS_SQL,
+                    (rs, rowNum) -> new ExistingIndex(rs.getString("columns"), rs.getString("predicate")), table);
+            for (String required : requiredColumns) {
+                int separator = required.indexOf(PREDICATE_SEPARATOR);
+                String columns = separator < 0 ? required : required.substring(0, separator);
+                String allowedPredicate = separator < 0 ? null
+                        : normalizePredicate(required.substring(separator + PREDICATE_SEPARATOR.length()));
+                boolean covered = existing.stream()
+                        .anyMatch(index -> index.covers(columns) && (index.predicate() == null
+                                || normalizePredicate(index.predicate()).equals(allowedPredicate)));
+                if (!covered) {
+                    missing.add(table + "(" + columns + ")");
+                }
+            }
+        });
+        return missing;
+    }
+
+    private int countRequired() {
+        return REQUIRED_INDEXES.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * pg_get_expr adds parentheses and may change spacing, so compare without either.
+     */
+    private static String normalizePredicate(String predicate) {
+        return predicate.replaceAll("[()\\s]+", " ").trim();
+    }
+
+    /**
+     * Column list of an index on the table, and its WHERE predicate if it is partial.
+     */
+    private record ExistingIndex(String columns, String predicate) {
+
+        boolean covers(String leadingColumns) {
+            return columns.equals(leadingColumns) || columns.startsWith(leadingColumns + ",");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.rakeshgupta.cafebrew_backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +14,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -19,10 +22,15 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CorsConfigurationSource corsConfigurationSource) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CorsConfigurationSource corsConfigurationSource,
+                          AdmissionControl admissionControl, ObjectMapper objectMapper) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
     }
 
     @Bean
@@ -36,11 +44,17 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/api/admin/login").permitAll()
-                    .requestMatchers("/ws/**").permitAll()
+                    .requestMatchers("/ws/**", "/ws-native").permitAll()
+                    // Actuator only listens on the management port, which is not publicly exposed
+                    .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                     .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "OWNER", "STAFF")
                     .requestMatchers("/api/**").permitAll()
                     .anyRequest().authenticated()
             )
+            .addFilterAfter(
+                    new AdmissionControlFilter(admissionControl, objectMapper),
+                    CorsFilter.class
+            )
             .addFilterBefore(
                     new JwtAuthenticationFilter(jwtTokenProvider),
                     UsernamePasswordAuthenticationFilter.class
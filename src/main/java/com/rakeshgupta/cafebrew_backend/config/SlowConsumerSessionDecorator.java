@@ -0,0 +1,248 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbound queue for one WebSocket session that keeps slow clients from piling up heap.
+ * Senders only enqueue; a single flush task per session writes to the socket on the monitor's
+ * executor, so a client on bad Wi-Fi never blocks the broker's outbound threads. On top of that:
+ * <ul>
+ *   <li>frames published with a {@value #CONFLATION_KEY_HEADER} header are conflated per destination
+ *       and key: a queued frame is replaced by the newer one instead of both being sent</li>
+ *   <li>a session whose queued bytes exceed the buffer limit, or whose in-flight send exceeds the
+ *       time limit, is closed so the client reconnects and replays from the event stream</li>
+ * </ul>
+ * The limits are checked when a message is queued and by {@link WebSocketSessionMonitor} on a timer,
+ * so a send stuck on a quiet session is still evicted.
+ * Spring's ConcurrentWebSocketSessionDecorator wraps this one, but its sends only hand off to this
+ * queue, so its own buffer and time limits never apply.
+ */
+@Slf4j
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    /**
+     * STOMP header the publisher sets on frames that may be conflated, e.g. the order id on
+     * /topic/orders/status. Sequenced /topic/orders/events frames must never carry it, as
+     * conflating them would leave seq gaps.
+     */
+    public static final String CONFLATION_KEY_HEADER = "conflation-key";
+
+    private static final String DESTINATION_PREFIX = "\ndestination:";
+    private static final String CONFLATION_KEY_PREFIX = "\n" + CONFLATION_KEY_HEADER + ":";
+
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+    private final Executor flushExecutor;
+    private final Runnable onEvict;
+
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final Map<String, Pending> pendingByKey = new HashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Guarded by queue
+    private int bufferedBytes;
+    private int peakBufferedBytes;
+    private long sentMessages;
+    private long conflatedMessages;
+
+    private volatile long sendStartMillis;
+    private volatile boolean evicted;
+
+    public SlowConsumerSessionDecorator(WebSocketSession session, int bufferSizeLimit, long sendTimeLimitMillis,
+                                        Executor flushExecutor, Runnable onEvict) {
+        super(session);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.flushExecutor = flushExecutor;
+        this.onEvict = onEvict;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (evicted) {
+            return;
+        }
+        enqueue(message);
+        checkLimits();
+        if (!evicted && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flushLoop);
+        }
+    }
+
+    /**
+     * Queue depth and throughput for the admin stats endpoint.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (queue) {
+            stats.put("id", getId());
+            stats.put("transport", getDelegate() instanceof SockJsSession ? "sockjs" : "websocket");
+            stats.put("queuedMessages", queue.size());
+            stats.put("bufferedBytes", bufferedBytes);
+            stats.put("peakBufferedBytes", peakBufferedBytes);
+            stats.put("sentMessages", sentMessages);
+            stats.put("conflatedMessages", conflatedMessages);
+        }
+        long start = sendStartMillis;
+        stats.put("inFlightMillis", start == 0 ? 0 : System.currentTimeMillis() - start);
+        return stats;
+    }
+
+    private void enqueue(WebSocketMessage<?> message) {
+        String key = conflationKey(message);
+        synchronized (queue) {
+            Pending existing = key != null ? pendingByKey.get(key) : null;
+            if (existing != null) {
+                bufferedBytes += message.getPayloadLength() - existing.message.getPayloadLength();
+                existing.message = message;
+                conflatedMessages++;
+            } else {
+                Pending pending = new Pending(key, message);
+                queue.add(pending);
+                if (key != null) {
+                    pendingByKey.put(key, pending);
+                }
+                bufferedBytes += message.getPayloadLength();
+            }
+            peakBufferedBytes = Math.max(peakBufferedBytes, bufferedBytes);
+        }
+    }
+
+    private void flushLoop() {
+        try {
+            do {
+                flush();
+                flushScheduled.set(false);
+                // A message may have been queued after flush() found the queue empty
+            } while (!evicted && hasPending() && flushScheduled.compareAndSet(false, true));
+        } catch (IOException | RuntimeException e) {
+            flushScheduled.set(false);
+            evict("send failed: " + e.getMessage());
+        }
+    }
+
+    private void flush() throws IOException {
+        while (!evicted) {
+            WebSocketMessage<?> message;
+            synchronized (queue) {
+                Pending pending = queue.poll();
+                if (pending == null) {
+                    return;
+                }
+                if (pending.key != null) {
+                    pendingByKey.remove(pending.key);
+                }
+                message = pending.message;
+                bufferedBytes -= message.getPayloadLength();
+            }
+            sendStartMillis = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(message);
+            } finally {
+                sendStartMillis = 0;
+            }
+            synchronized (queue) {
+                sentMessages++;
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        synchronized (queue) {
+            return !queue.isEmpty();
+        }
+    }
+
+    /**
+     * Evicts the session if it is over either limit.
+     */
+    void checkLimits() {
+        if (evicted) {
+            return;
+        }
+        long start = sendStartMillis;
+        if (start != 0 && System.currentTimeMillis() - start > sendTimeLimitMillis) {
+            evict("send has been blocked for more than " + sendTimeLimitMillis + " ms");
+            return;
+        }
+        int buffered;
+        synchronized (queue) {
+            buffered = bufferedBytes;
+        }
+        if (buffered > bufferSizeLimit) {
+            evict(buffered + " bytes queued, limit is " + bufferSizeLimit);
+        }
+    }
+
+    private void evict(String reason) {
+        synchronized (queue) {
+            if (evicted) {
+                return;
+            }
+            evicted = true;
+            queue.clear();
+            pendingByKey.clear();
+            bufferedBytes = 0;
+        }
+        log.warn("Closing slow WebSocket session {}: {}", getId(), reason);
+        onEvict.run();
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    private static String conflationKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return null;
+        }
+        String frame = textMessage.getPayload();
+        if (!frame.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        // Only the header block is searched; the body is never inspected
+        int headerEnd = frame.indexOf("\n\n");
+        if (headerEnd < 0) {
+            return null;
+        }
+        String headers = frame.substring(0, headerEnd + 1);
+        String key = headerValue(headers, CONFLATION_KEY_PREFIX);
+        String destination = key != null ? headerValue(headers, DESTINATION_PREFIX) : null;
+        return destination != null ? destination + '|' + key : null;
+    }
+
+    private static String headerValue(String headers, String prefix) {
+        int start = headers.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        return headers.substring(start, headers.indexOf('\n', start));
+    }
+
+    private static final class Pending {
+
+        private final String key;
+        private WebSocketMessage<?> message;
+
+        Pending(String key, WebSocketMessage<?> message) {
+            this.key = key;
+            this.message = message;
+        }
+    }
+}
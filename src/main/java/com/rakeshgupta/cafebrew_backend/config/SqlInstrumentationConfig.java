@@ -0,0 +1,95 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy that times every statement.
+ * Statements are attributed to the current request ({@link SqlRequestStats}) and any
+ * statement slower than app.sql.slow-query-ms is logged wherever it runs.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationPostProcessor(Environment environment) {
+        long slowQueryMillis = environment.getProperty("app.sql.slow-query-ms", Long.class, 200L);
+        return new DataSourceProxyPostProcessor(slowQueryMillis);
+    }
+
+    /**
+     * Runs last, so other post-processors (Hikari metrics) still see the pool itself.
+     */
+    static class DataSourceProxyPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final long slowQueryMillis;
+
+        DataSourceProxyPostProcessor(long slowQueryMillis) {
+            this.slowQueryMillis = slowQueryMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new StatementTimingListener(slowQueryMillis))
+                        .build();
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    @Slf4j
+    static class StatementTimingListener implements QueryExecutionListener {
+
+        private static final String START_NANOS = "startNanos";
+
+        private final long slowQueryMillis;
+
+        StatementTimingListener(long slowQueryMillis) {
+            this.slowQueryMillis = slowQueryMillis;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+            String sql = queryInfoList.size() == 1
+                    ? queryInfoList.get(0).getQuery()
+                    : queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.record(sql, elapsedNanos);
+            }
+            long elapsedMillis = elapsedNanos / 1_000_000;
+            if (elapsedMillis >= slowQueryMillis) {
+                log.warn("Slow SQL ({} ms{}): {}", elapsedMillis,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", sql);
+            }
+        }
+    }
+}
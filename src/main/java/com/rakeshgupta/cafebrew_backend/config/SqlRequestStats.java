@@ -0,0 +1,64 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed and time spent in the database by the current request thread.
+ * Opened and closed by {@link SqlStatsFilter}; statements on other threads (async work,
+ * scheduled jobs) are not attributed to any request.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request running on this thread, or null outside a request.
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        dbNanos += elapsedNanos;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    /**
+     * JDBC executions so far; a batch counts once.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbTimeMillis() {
+        return dbNanos / 1_000_000;
+    }
+
+    /**
+     * The statement executed most often in this request, the usual sign of an N+1 pattern.
+     */
+    Map.Entry<String, Integer> mostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and database time of every HTTP request.
+ * With app.sql.stats.response-headers=true (for non-production use) the counts so far are
+ * added as X-SQL-Statements and X-SQL-Time-Ms headers when the response is committed, which
+ * lets tests assert a statement budget per endpoint. Requests over
+ * app.sql.stats.max-statements or app.sql.stats.max-db-time-ms are logged with the most
+ * repeated statement.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String DB_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final boolean responseHeaders;
+    private final int maxStatements;
+    private final long maxDbTimeMillis;
+    private final DistributionSummary statementsPerRequest;
+
+    public SqlStatsFilter(
+            @Value("${app.sql.stats.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql.stats.max-statements:15}") int maxStatements,
+            @Value("${app.sql.stats.max-db-time-ms:500}") long maxDbTimeMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.responseHeaders = responseHeaders;
+        this.maxStatements = maxStatements;
+        this.maxDbTimeMillis = maxDbTimeMillis;
+        this.statementsPerRequest = DistributionSummary.builder("cafebrew.sql.statements.per.request")
+                .description("SQL statements executed per HTTP request")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, responseHeaders ? withStatsHeaders(response, stats) : response);
+        } finally {
+            SqlRequestStats.end();
+            statementsPerRequest.record(stats.getStatements());
+            if (stats.getStatements() > maxStatements || stats.getDbTimeMillis() > maxDbTimeMillis) {
+                logOverBudget(request, stats);
+            }
+        }
+    }
+
+    private HttpServletResponse withStatsHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        return new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                response.setHeader(DB_TIME_HEADER, String.valueOf(stats.getDbTimeMillis()));
+            }
+        };
+    }
+
+    private void logOverBudget(HttpServletRequest request, SqlRequestStats stats) {
+        Map.Entry<String, Integer> mostRepeated = stats.mostRepeated();
+        String sql = mostRepeated.getKey();
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        log.warn("{} {} ran {} SQL statements in {} ms (limits {} / {} ms); most repeated ({}x): {}",
+                request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getDbTimeMillis(),
+                maxStatements, maxDbTimeMillis, mostRepeated.getValue(), sql);
+    }
+}
@@ -0,0 +1,57 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket rate limiter over a fixed array of lock-free stripes.
+ * Each key hashes to one stripe, which holds the bucket as a single long (the generic cell rate
+ * algorithm's "theoretical arrival time"), updated with a CAS loop: no locks, no per-key
+ * allocation and bounded memory however many clients there are. Keys that collide share a
+ * bucket, so the stripe count should be well above the number of concurrently active clients.
+ */
+class StripedRateLimiter {
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final long epochNanos = System.nanoTime();
+
+    /**
+     * @param perMinute sustained rate
+     * @param burst     requests allowed back to back on a full bucket
+     * @param stripes   rounded up to a power of two
+     */
+    StripedRateLimiter(int perMinute, int burst, int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalNanos = 60_000_000_000L / Math.max(1, perMinute);
+        this.burstToleranceNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * Takes a token for the key.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until the next token is available
+     */
+    long tryAcquire(String key) {
+        int index = spread(key.hashCode()) & mask;
+        long now = System.nanoTime() - epochNanos;
+        while (true) {
+            long arrival = stripes.get(index);
+            long next = Math.max(arrival, now) + intervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (stripes.compareAndSet(index, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,79 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing through Micrometer Observation with the Brave tracer. Spans come from:
+ * <ul>
+ *   <li>HTTP requests (auto-configured server observation)</li>
+ *   <li>service methods annotated with {@code @Observed} (cafebrew.service)</li>
+ *   <li>every Spring Data repository call (cafebrew.repository)</li>
+ *   <li>Razorpay and R2 calls and STOMP broadcasts (explicit observations)</li>
+ * </ul>
+ * Trace and span IDs are in the MDC, so log lines carry them. Finished spans go to a
+ * {@link LocalSpanCollector} unless app.tracing.export is none.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    /**
+     * @param export memory (recent spans only), file (also append every span to app.tracing.file)
+     *               or none
+     */
+    @Bean
+    public LocalSpanCollector localSpanCollector(
+            @Value("${app.tracing.export:memory}") String export,
+            @Value("${app.tracing.file:traces.jsonl}") String file,
+            @Value("${app.tracing.memory-capacity:2000}") int capacity
+    ) throws IOException {
+        if ("none".equalsIgnoreCase(export)) {
+            return new LocalSpanCollector(0, null);
+        }
+        return new LocalSpanCollector(capacity, "file".equalsIgnoreCase(export) ? Path.of(file) : null);
+    }
+
+    // Static so it applies to repository factory beans created early
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(repositoryInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(),
+                                    observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryInterceptor(String repository,
+                                                          ObjectProvider<ObservationRegistry> observationRegistry) {
+        return invocation -> Observation.createNotStarted("cafebrew.repository",
+                        observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .contextualName(repository + "." + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -1,28 +1,135 @@
 package com.rakeshgupta.cafebrew_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
+/**
+ * STOMP over WebSocket, on /ws (SockJS) and /ws-native (plain WebSocket).
+ * app.websocket.broker.mode selects how messages reach clients on other instances:
+ * <ul>
+ *   <li>simple (default): in-memory broker, single instance only; also used by tests</li>
+ *   <li>postgres: in-memory broker per instance, order notifications fanned out with LISTEN/NOTIFY</li>
+ *   <li>relay: all /topic traffic relayed through an external STOMP broker such as RabbitMQ</li>
+ * </ul>
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${app.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.outbound-pool-size:8}")
+    private int outboundPoolSize;
+
+    private final WebSocketSessionMonitor sessionMonitor;
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketConfig(WebSocketSessionMonitor sessionMonitor, MeterRegistry meterRegistry) {
+        this.sessionMonitor = sessionMonitor;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple broker for topics
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // Relay topics through an external broker so every instance reaches every client
+            var relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Enable simple broker for topics
+            config.enableSimpleBroker("/topic");
+        }
         // Prefix for messages from client to server
         config.setApplicationDestinationPrefixes("/app");
+        // Deliver frames to each session in publish order so order event seq numbers arrive in sequence
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // SlowConsumerSessionDecorator buffers and enforces the send limits; Spring's session decorator
+        // only ever hands off to its queue, so its own limits are left at their defaults
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(this::decorateSessions);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new WebSocketMessageMetrics(meterRegistry, "inbound"));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Fixed pool: socket writes happen on the session flush executor, so these threads never wait on clients
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize);
+        registration.interceptors(new WebSocketMessageMetrics(meterRegistry, "outbound"));
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Raw WebSocket endpoint for modern clients: no SockJS framing or transport negotiation.
+        // The embedded Tomcat negotiates permessage-deflate when the client offers it.
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*");
+
         // WebSocket endpoint with SockJS fallback
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    private WebSocketHandler decorateSessions(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(sessionMonitor.register(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessionMonitor.unregister(session);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
 }
@@ -0,0 +1,38 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts STOMP messages on a client channel as cafebrew.websocket.messages, tagged with the
+ * direction and message type (CONNECT, SUBSCRIBE, MESSAGE, HEARTBEAT, ...).
+ */
+class WebSocketMessageMetrics implements ChannelInterceptor {
+
+    private final Map<SimpMessageType, Counter> counters = new EnumMap<>(SimpMessageType.class);
+
+    WebSocketMessageMetrics(MeterRegistry meterRegistry, String direction) {
+        for (SimpMessageType type : SimpMessageType.values()) {
+            counters.put(type, Counter.builder("cafebrew.websocket.messages")
+                    .tag("direction", direction)
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        counters.get(type != null ? type : SimpMessageType.OTHER).increment();
+        return message;
+    }
+}
@@ -0,0 +1,97 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps every WebSocket session in a {@link SlowConsumerSessionDecorator} and tracks the open ones
+ * so their outbound queues can be inspected and their limits checked every second, including sessions
+ * that have stopped receiving new messages.
+ * Socket writes run on virtual threads, so a session blocked on a slow client costs no platform thread
+ * while it waits to be evicted.
+ */
+@Component
+public class WebSocketSessionMonitor {
+
+    private final int sendBufferSizeLimit;
+    private final long sendTimeLimitMillis;
+
+    private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong evictedSessions = new AtomicLong();
+    private final ExecutorService flushExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public WebSocketSessionMonitor(
+            @Value("${app.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+            @Value("${app.websocket.send-time-limit-ms:10000}") long sendTimeLimitMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        Gauge.builder("cafebrew.websocket.sessions", sessions, Map::size)
+                .description("Open WebSocket sessions")
+                .register(meterRegistry);
+        FunctionCounter.builder("cafebrew.websocket.sessions.evicted", evictedSessions, AtomicLong::get)
+                .description("Sessions closed for falling behind on outbound messages")
+                .register(meterRegistry);
+    }
+
+    public WebSocketSession register(WebSocketSession session) {
+        SlowConsumerSessionDecorator decorated = new SlowConsumerSessionDecorator(
+                session, sendBufferSizeLimit, sendTimeLimitMillis, flushExecutor, evictedSessions::incrementAndGet);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    public void unregister(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void checkLimits() {
+        sessions.values().forEach(SlowConsumerSessionDecorator::checkLimits);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public long getSendTimeLimitMillis() {
+        return sendTimeLimitMillis;
+    }
+
+    /**
+     * Limits, eviction count and per-session queue statistics.
+     */
+    public Map<String, Object> getStatistics() {
+        List<Map<String, Object>> perSession = new ArrayList<>();
+        sessions.values().forEach(session -> perSession.add(session.getStatistics()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("openSessions", perSession.size());
+        stats.put("evictedSessions", evictedSessions.get());
+        stats.put("sendBufferSizeLimit", sendBufferSizeLimit);
+        stats.put("sendTimeLimitMillis", sendTimeLimitMillis);
+        stats.put("sessions", perSession);
+        return stats;
+    }
+}
@@ -1,5 +1,8 @@
 package com.rakeshgupta.cafebrew_backend.controller;
 
+import com.rakeshgupta.cafebrew_backend.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,12 +13,19 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final WarmupService warmupService;
+
+    /**
+     * 503 until the startup warmup has run, so traffic is only routed to warm instances
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> healthCheck() {
-        return ResponseEntity.ok(Map.of(
-                "status", "UP",
+        boolean warm = warmupService.isWarm();
+        return ResponseEntity.status(warm ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", warm ? "UP" : "WARMING_UP",
                 "timestamp", LocalDateTime.now().toString(),
                 "service", "cafebrew-backend"
         ));
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -26,11 +27,9 @@ public class CategoryController {
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> getActiveCategories() {
         List<Category> categories = categoryService.getActiveCategories();
+        Map<Long, Integer> itemCounts = categoryService.getItemCountsForCategories(categories);
         List<CategoryResponse> response = categories.stream()
-                .map(category -> CategoryResponse.fromEntity(
-                        category,
-                        categoryService.getItemCountForCategory(category.getId())
-                ))
+                .map(category -> CategoryResponse.fromEntity(category, itemCounts.get(category.getId())))
                 .toList();
         return ResponseEntity.ok(response);
     }
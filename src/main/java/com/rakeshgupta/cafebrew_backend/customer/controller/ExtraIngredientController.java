@@ -1,9 +1,8 @@
 package com.rakeshgupta.cafebrew_backend.customer.controller;
 
-import com.rakeshgupta.cafebrew_backend.admin.dto.response.ExtraIngredientResponse;
-import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
-import com.rakeshgupta.cafebrew_backend.customer.service.ExtraIngredientService;
+import com.rakeshgupta.cafebrew_backend.customer.service.ExtraIngredientLookup;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,13 +11,14 @@ import java.util.List;
 /**
  * Public controller for customer access to extra ingredients.
  * Returns only active ingredients for active categories.
+ * Responses are served from the pre-serialized {@link ExtraIngredientLookup}, not the database.
  */
 @RestController
 @RequestMapping("/api/extra-ingredients")
 @RequiredArgsConstructor
 public class ExtraIngredientController {
 
-    private final ExtraIngredientService extraIngredientService;
+    private final ExtraIngredientLookup extraIngredientLookup;
 
     /**
      * GET /api/extra-ingredients/by-category/{categoryId}
@@ -26,14 +26,12 @@ public class ExtraIngredientController {
      * Only returns ingredients where both the ingredient and category are active.
      */
     @GetMapping("/by-category/{categoryId}")
-    public ResponseEntity<List<ExtraIngredientResponse>> getExtraIngredientsByCategory(
+    public ResponseEntity<byte[]> getExtraIngredientsByCategory(
             @PathVariable Long categoryId
     ) {
-        List<ExtraIngredient> extraIngredients = extraIngredientService.getActiveExtraIngredientsByCategory(categoryId);
-        List<ExtraIngredientResponse> response = extraIngredients.stream()
-                .map(ExtraIngredientResponse::fromEntity)
-                .toList();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(extraIngredientLookup.getActiveByCategoryJson(categoryId));
     }
 
     /**
@@ -42,13 +40,11 @@ public class ExtraIngredientController {
      * Only returns ingredients where both the ingredient and category are active.
      */
     @GetMapping("/by-categories")
-    public ResponseEntity<List<ExtraIngredientResponse>> getExtraIngredientsByCategories(
+    public ResponseEntity<byte[]> getExtraIngredientsByCategories(
             @RequestParam("ids") List<Long> categoryIds
     ) {
-        List<ExtraIngredient> extraIngredients = extraIngredientService.getActiveExtraIngredientsByCategories(categoryIds);
-        List<ExtraIngredientResponse> response = extraIngredients.stream()
-                .map(ExtraIngredientResponse::fromEntity)
-                .toList();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(extraIngredientLookup.getActiveByCategoriesJson(categoryIds));
     }
 }
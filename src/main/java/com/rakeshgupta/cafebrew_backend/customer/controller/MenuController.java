@@ -1,8 +1,7 @@
 package com.rakeshgupta.cafebrew_backend.customer.controller;
 
 import com.rakeshgupta.cafebrew_backend.customer.dto.response.MenuItemResponse;
-import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
-import com.rakeshgupta.cafebrew_backend.customer.service.MenuService;
+import com.rakeshgupta.cafebrew_backend.customer.service.CustomerMenuService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,15 +15,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MenuController {
 
-    private final MenuService menuService;
+    private final CustomerMenuService customerMenuService;
 
     /**
      * GET /api/menu
      * Public endpoint - returns ONLY available menu items
      */
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getMenu() {
-        List<MenuItem> menu = menuService.getAvailableMenu();
+    public ResponseEntity<List<MenuItemResponse>> getMenu() {
+        List<MenuItemResponse> menu = customerMenuService.getAvailableMenu();
         return ResponseEntity.ok(menu);
     }
 }
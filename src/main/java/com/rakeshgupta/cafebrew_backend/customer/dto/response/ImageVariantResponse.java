@@ -0,0 +1,18 @@
+package com.rakeshgupta.cafebrew_backend.customer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A resized copy of a menu image, for building srcset / picture sources on the client.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariantResponse {
+
+    private Integer width;
+    private String format;
+    private String url;
+}
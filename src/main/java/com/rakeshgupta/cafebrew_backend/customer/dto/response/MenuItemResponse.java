@@ -1,10 +1,18 @@
 package com.rakeshgupta.cafebrew_backend.customer.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.util.List;
 
+/**
+ * Compact menu item for the public menu.
+ * Populated directly by a JPQL constructor expression, so only these columns are selected.
+ * {@code category} carries the category entity's name, not the legacy string column.
+ * {@code imageVariants} is filled in afterwards for images that have resized copies.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,7 +20,20 @@ public class MenuItemResponse {
     
     private Long id;
     private String name;
-    private BigDecimal price;
+    private String description;
+    private Long categoryId;
     private String category;
+    private BigDecimal price;
     private Boolean available;
-}
\ No newline at end of file
+    private String imageUrl;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<ImageVariantResponse> imageVariants;
+
+    /**
+     * Constructor used by the JPQL projection.
+     */
+    public MenuItemResponse(Long id, String name, String description, Long categoryId, String category,
+                            BigDecimal price, Boolean available, String imageUrl) {
+        this(id, name, description, categoryId, category, price, available, imageUrl, null);
+    }
+}
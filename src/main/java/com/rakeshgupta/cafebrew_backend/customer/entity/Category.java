@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -15,6 +17,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,11 +48,13 @@ public class Category {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "categoryEntity", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ToString.Exclude
     @JsonIgnore
     private List<MenuItem> menuItems = new ArrayList<>();
 
     @ManyToMany(mappedBy = "categories", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ToString.Exclude
     @JsonIgnore
     private Set<ExtraIngredient> extraIngredients = new HashSet<>();
@@ -0,0 +1,44 @@
+package com.rakeshgupta.cafebrew_backend.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An R2 object waiting to be deleted by the image delete worker.
+ */
+@Entity
+@Table(name = "pending_image_deletes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingImageDelete {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, unique = true, length = 512)
+    private String objectKey;
+
+    /**
+     * The original image this object belongs to; equal to objectKey for originals.
+     */
+    @Column(name = "original_key", nullable = false, length = 512)
+    private String originalKey;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,74 @@
+package com.rakeshgupta.cafebrew_backend.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An image object stored in R2 together with the names of its resized variants.
+ * A variant named {@code 320w.webp} is stored at {@code <object key without extension>_320w.webp}.
+ * Uploads are keyed by {@link #contentHash}, so identical files share one row; {@link #refCount}
+ * is the number of menu items pointing at the image.
+ */
+@Entity
+@Table(name = "stored_images")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, unique = true, length = 512)
+    private String objectKey;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(length = 500)
+    private String variants;
+
+    /**
+     * Hex SHA-256 of the original bytes; null for images uploaded before content addressing.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public StoredImage(String objectKey, String contentType) {
+        this.objectKey = objectKey;
+        this.contentType = contentType;
+    }
+
+    public List<String> getVariantNames() {
+        if (variants == null || variants.isBlank()) {
+            return List.of();
+        }
+        return Arrays.asList(variants.split(","));
+    }
+
+    public void setVariantNames(List<String> variantNames) {
+        this.variants = variantNames.isEmpty() ? null : String.join(",", variantNames);
+    }
+}
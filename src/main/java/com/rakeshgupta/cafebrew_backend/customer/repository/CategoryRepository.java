@@ -1,8 +1,14 @@
 package com.rakeshgupta.cafebrew_backend.customer.repository;
 
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,11 +19,19 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Find all categories sorted by display order for admin management
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     List<Category> findAllByOrderByDisplayOrderAsc();
     
     /**
      * Find only active categories sorted by display order for customer display
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     List<Category> findByActiveTrueOrderByDisplayOrderAsc();
     
     /**
@@ -34,4 +48,20 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * Find category by name
      */
     Optional<Category> findByName(String name);
+    
+    /**
+     * Create a category for every legacy menu item category string that has none yet,
+     * appended after the existing categories in name order. Used by the startup migration.
+     * @return number of categories created
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO categories (name, display_order, active, created_at) " +
+                   "SELECT legacy.name, (SELECT COUNT(*) FROM categories) + ROW_NUMBER() OVER (ORDER BY legacy.name), " +
+                   "true, now() " +
+                   "FROM (SELECT DISTINCT m.category AS name FROM menu_items m " +
+                   "      WHERE m.category_id IS NULL AND btrim(m.category) <> '' AND length(m.category) <= 50 " +
+                   "      AND NOT EXISTS (SELECT 1 FROM categories c WHERE c.name = m.category)) legacy " +
+                   "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int insertMissingLegacyCategories();
 }
@@ -1,7 +1,10 @@
 package com.rakeshgupta.cafebrew_backend.customer.repository;
 
 import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,11 +18,19 @@ public interface ExtraIngredientRepository extends JpaRepository<ExtraIngredient
     /**
      * Find all extra ingredients sorted by name for admin management.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     List<ExtraIngredient> findAllByOrderByNameAsc();
 
     /**
      * Find only active extra ingredients sorted by name.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     List<ExtraIngredient> findByActiveTrueOrderByNameAsc();
 
     /**
@@ -41,6 +52,10 @@ public interface ExtraIngredientRepository extends JpaRepository<ExtraIngredient
      * Find active extra ingredients by category ID.
      * Only returns ingredients where both the ingredient and category are active.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT DISTINCT ei FROM ExtraIngredient ei " +
            "JOIN ei.categories c " +
            "WHERE c.id = :categoryId " +
@@ -53,6 +68,10 @@ public interface ExtraIngredientRepository extends JpaRepository<ExtraIngredient
      * Find active extra ingredients by multiple category IDs.
      * Only returns ingredients where both the ingredient and category are active.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT DISTINCT ei FROM ExtraIngredient ei " +
            "JOIN ei.categories c " +
            "WHERE c.id IN :categoryIds " +
@@ -74,6 +93,10 @@ public interface ExtraIngredientRepository extends JpaRepository<ExtraIngredient
     /**
      * Find extra ingredients with eager loading of categories.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT DISTINCT ei FROM ExtraIngredient ei " +
            "LEFT JOIN FETCH ei.categories " +
            "ORDER BY ei.name ASC")
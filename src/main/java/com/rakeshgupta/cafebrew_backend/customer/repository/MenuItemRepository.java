@@ -1,12 +1,19 @@
 package com.rakeshgupta.cafebrew_backend.customer.repository;
 
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.MenuItemResponse;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
 import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +52,10 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * Fetch available menu items with active categories, sorted by category display order and name.
      * This is the primary method for customer-facing menu display.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT m FROM MenuItem m JOIN FETCH m.categoryEntity c " +
            "WHERE m.available = true AND c.active = true " +
            "ORDER BY c.displayOrder ASC, m.name ASC")
@@ -54,10 +65,46 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * Fetch ALL menu items with their categories, sorted by category display order and name.
      * This is for admin management where all items should be visible.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT m FROM MenuItem m LEFT JOIN FETCH m.categoryEntity c " +
            "ORDER BY COALESCE(c.displayOrder, 999999) ASC, m.name ASC")
     List<MenuItem> findAllMenuItemsWithCategories();
     
+    // ==================== DTO projections ====================
+    
+    /**
+     * Customer menu projection: available items in active categories, selecting only the
+     * columns the menu renders. Same ordering as findAvailableMenuItemsWithActiveCategories.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
+    @Query("SELECT new com.rakeshgupta.cafebrew_backend.customer.dto.response.MenuItemResponse(" +
+           "m.id, m.name, m.description, c.id, c.name, m.price, m.available, m.imageUrl) " +
+           "FROM MenuItem m JOIN m.categoryEntity c " +
+           "WHERE m.available = true AND c.active = true " +
+           "ORDER BY c.displayOrder ASC, m.name ASC")
+    List<com.rakeshgupta.cafebrew_backend.customer.dto.response.MenuItemResponse> findAvailableMenuItemResponses();
+    
+    /**
+     * Admin menu projection: all items, falling back to the legacy category string for
+     * items not yet linked to a Category. Same ordering as findAllMenuItemsWithCategories.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
+    @Query("SELECT new com.rakeshgupta.cafebrew_backend.admin.dto.response.MenuItemResponse(" +
+           "m.id, m.name, m.description, c.id, COALESCE(c.name, m.category), m.price, m.available, " +
+           "m.imageUrl, m.createdAt, m.updatedAt) " +
+           "FROM MenuItem m LEFT JOIN m.categoryEntity c " +
+           "ORDER BY COALESCE(c.displayOrder, 999999) ASC, m.name ASC")
+    List<MenuItemResponse> findAllMenuItemResponses();
+    
     /**
      * Count menu items by Category entity (for checking if category can be deleted)
      */
@@ -66,9 +113,21 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     /**
      * Count menu items by Category ID (for checking if category can be deleted)
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog-queries")
+    })
     @Query("SELECT COUNT(m) FROM MenuItem m WHERE m.categoryEntity.id = :categoryId")
     int countByCategoryEntityId(@Param("categoryId") Long categoryId);
     
+    /**
+     * Menu item counts for many categories in one query, as [categoryId, count] rows.
+     * Categories without items have no row.
+     */
+    @Query("SELECT m.categoryEntity.id, COUNT(m) FROM MenuItem m " +
+           "WHERE m.categoryEntity.id IN :categoryIds GROUP BY m.categoryEntity.id")
+    List<Object[]> countByCategoryEntityIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
     /**
      * Find all menu items by Category entity
      */
@@ -97,4 +156,26 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     @Query("SELECT m FROM MenuItem m JOIN FETCH m.categoryEntity c " +
            "WHERE m.id = :id AND m.available = true AND c.active = true")
     Optional<MenuItem> findAvailableByIdWithActiveCategory(@Param("id") Long id);
-}
\ No newline at end of file
+    
+    /**
+     * Every image URL a menu item points at (used by the orphaned image reconciler)
+     */
+    @Query("SELECT DISTINCT m.imageUrl FROM MenuItem m WHERE m.imageUrl IS NOT NULL")
+    List<String> findDistinctImageUrls();
+    
+    /**
+     * Link every menu item that only has a legacy category string to the Category of that name,
+     * in one statement. Used by the startup migration.
+     * @return number of menu items linked
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE menu_items m SET category_id = c.id FROM categories c " +
+                   "WHERE m.category_id IS NULL AND c.name = m.category", nativeQuery = true)
+    int linkLegacyCategories();
+    
+    /**
+     * Count menu items not linked to a Category entity
+     */
+    long countByCategoryEntityIsNull();
+}
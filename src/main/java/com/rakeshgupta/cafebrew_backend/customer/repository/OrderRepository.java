@@ -4,11 +4,13 @@ import com.rakeshgupta.cafebrew_backend.customer.entity.Order;
 import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     List<Order> findByStatusOrderByCreatedAtAsc(OrderStatus status);
 
+    /**
+     * Find orders in any of the given statuses with their items, oldest first, for the kitchen queue
+     */
+    @EntityGraph(attributePaths = "items")
+    List<Order> findByStatusInOrderByCreatedAtAsc(Collection<OrderStatus> statuses);
+
     /**
      * Find all orders ordered by creation time (newest first) for admin dashboard
      */
@@ -0,0 +1,44 @@
+package com.rakeshgupta.cafebrew_backend.customer.repository;
+
+import com.rakeshgupta.cafebrew_backend.customer.entity.PendingImageDelete;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingImageDeleteRepository extends JpaRepository<PendingImageDelete, Long> {
+
+    /**
+     * Queue an object; one already waiting keeps its place and retry state
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO pending_image_deletes (object_key, original_key, attempts, next_attempt_at, created_at) " +
+                   "VALUES (:objectKey, :originalKey, 0, now(), now()) " +
+                   "ON CONFLICT (object_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("objectKey") String objectKey, @Param("originalKey") String originalKey);
+
+    /**
+     * Claim due entries for the caller's transaction. Rows another worker holds are skipped, and an
+     * upload cancelling a claimed row waits until the claiming transaction ends.
+     */
+    @Query(value = "SELECT * FROM pending_image_deletes WHERE next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PendingImageDelete> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Cancel the queued deletes of an image; blocks while the worker holds them
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PendingImageDelete p WHERE p.originalKey = :originalKey")
+    int deleteByOriginalKey(@Param("originalKey") String originalKey);
+
+    long countByAttemptsGreaterThan(int attempts);
+}
@@ -0,0 +1,75 @@
+package com.rakeshgupta.cafebrew_backend.customer.repository;
+
+import com.rakeshgupta.cafebrew_backend.customer.entity.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, Long> {
+
+    Optional<StoredImage> findByObjectKey(String objectKey);
+
+    boolean existsByObjectKey(String objectKey);
+
+    /**
+     * Batch lookup used to attach variant URLs to a menu listing in one query
+     */
+    List<StoredImage> findByObjectKeyIn(Collection<String> objectKeys);
+
+    /**
+     * Record a freshly uploaded object; a concurrent upload of the same bytes may have won the race
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stored_images (object_key, content_type, content_hash, ref_count, created_at) " +
+                   "VALUES (:objectKey, :contentType, :contentHash, 0, now()) " +
+                   "ON CONFLICT (object_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("objectKey") String objectKey,
+                       @Param("contentType") String contentType,
+                       @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredImage s SET s.width = :width, s.height = :height, s.variants = :variants " +
+           "WHERE s.objectKey = :objectKey")
+    int updateVariants(@Param("objectKey") String objectKey,
+                       @Param("width") Integer width,
+                       @Param("height") Integer height,
+                       @Param("variants") String variants);
+
+    /**
+     * Add a reference, registering the object if it is not tracked yet
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stored_images (object_key, ref_count, created_at) VALUES (:objectKey, 1, now()) " +
+                   "ON CONFLICT (object_key) DO UPDATE SET ref_count = stored_images.ref_count + 1", nativeQuery = true)
+    int incrementRefCount(@Param("objectKey") String objectKey);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.objectKey = :objectKey AND s.refCount > 0")
+    int decrementRefCount(@Param("objectKey") String objectKey);
+
+    /**
+     * Remove the row of an image nothing references; a reference taken meanwhile keeps it
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredImage s WHERE s.objectKey = :objectKey AND s.refCount = 0")
+    int deleteIfUnreferenced(@Param("objectKey") String objectKey);
+
+    @Query("SELECT s.objectKey FROM StoredImage s WHERE s.objectKey IN :objectKeys")
+    List<String> findObjectKeysIn(@Param("objectKeys") Collection<String> objectKeys);
+
+    @Query("SELECT s.refCount FROM StoredImage s WHERE s.objectKey = :objectKey")
+    Optional<Integer> findRefCount(@Param("objectKey") String objectKey);
+}
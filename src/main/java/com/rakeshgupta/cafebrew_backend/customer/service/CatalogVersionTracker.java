@@ -0,0 +1,67 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Carries catalog changes to the other instances, whatever the broker mode.
+ * Every local {@link CatalogChangedEvent} bumps its type's counter in catalog_versions inside the
+ * mutating transaction. Each instance polls the counters every app.catalog.version-check-interval-ms
+ * and republishes a remote event for every type that moved, so MenuPriceIndex, ExtraIngredientLookup
+ * and KitchenQueue rebuild from the committed catalog. An instance's own edits come back once more
+ * through the poll, which costs one extra rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guarded by this
+    private final Map<CatalogChangedEvent.Type, Long> seenVersions = new EnumMap<>(CatalogChangedEvent.Type.class);
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isRemote()) {
+            jdbcTemplate.update("UPDATE catalog_versions SET version = version + 1 WHERE type = ?",
+                    event.getType().name());
+        }
+    }
+
+    /**
+     * The first check after startup republishes every type too, covering edits committed while
+     * the indexes were loading.
+     */
+    @Scheduled(initialDelayString = "${app.catalog.version-check-interval-ms:5000}",
+            fixedDelayString = "${app.catalog.version-check-interval-ms:5000}")
+    public synchronized void checkVersions() {
+        Map<CatalogChangedEvent.Type, Long> current = new EnumMap<>(CatalogChangedEvent.Type.class);
+        try {
+            jdbcTemplate.query("SELECT type, version FROM catalog_versions", rs -> {
+                current.put(CatalogChangedEvent.Type.valueOf(rs.getString("type")), rs.getLong("version"));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Catalog version check failed: {}", e.getMessage());
+            return;
+        }
+        current.forEach((type, version) -> {
+            Long previous = seenVersions.put(type, version);
+            if (!version.equals(previous)) {
+                log.debug("Catalog {} changed (version {} -> {}), refreshing", type, previous, version);
+                eventPublisher.publishEvent(new CatalogChangedEvent(type, true));
+            }
+        });
+    }
+}
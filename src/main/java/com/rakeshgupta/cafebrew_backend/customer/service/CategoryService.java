@@ -3,24 +3,31 @@ package com.rakeshgupta.cafebrew_backend.customer.service;
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.CategoryOrderRequest;
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.CreateCategoryRequest;
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.UpdateCategoryRequest;
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
 import com.rakeshgupta.cafebrew_backend.common.exception.CategoryHasItemsException;
 import com.rakeshgupta.cafebrew_backend.common.exception.CategoryNotFoundException;
 import com.rakeshgupta.cafebrew_backend.common.exception.DuplicateCategoryNameException;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
 import com.rakeshgupta.cafebrew_backend.customer.repository.CategoryRepository;
 import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "cafebrew.service")
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get all categories sorted by displayOrder for admin management.
@@ -68,7 +75,9 @@ public class CategoryService {
         category.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0);
         category.setActive(true);
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        publishCatalogChanged();
+        return saved;
     }
     
     /**
@@ -98,7 +107,9 @@ public class CategoryService {
             category.setActive(request.getActive());
         }
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        publishCatalogChanged();
+        return saved;
     }
     
     /**
@@ -119,6 +130,7 @@ public class CategoryService {
         }
         
         categoryRepository.delete(category);
+        publishCatalogChanged();
     }
     
     /**
@@ -133,6 +145,7 @@ public class CategoryService {
             category.setDisplayOrder(request.getDisplayOrder());
             categoryRepository.save(category);
         }
+        publishCatalogChanged();
     }
     
     /**
@@ -143,6 +156,24 @@ public class CategoryService {
         return menuItemRepository.countByCategoryEntityId(categoryId);
     }
     
+    /**
+     * Menu item counts for a list of categories, in one query.
+     * @return count per category ID; categories without items map to 0
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getItemCountsForCategories(List<Category> categories) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (categories.isEmpty()) {
+            return counts;
+        }
+        List<Long> ids = categories.stream().map(Category::getId).toList();
+        ids.forEach(id -> counts.put(id, 0));
+        for (Object[] row : menuItemRepository.countByCategoryEntityIds(ids)) {
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return counts;
+    }
+    
     /**
      * @deprecated Use getItemCountForCategory(Long categoryId) instead.
      * Get the count of menu items for a given category by name.
@@ -152,4 +183,8 @@ public class CategoryService {
     public int getItemCountForCategoryByName(String categoryName) {
         return menuItemRepository.countByCategory(categoryName);
     }
+    
+    private void publishCatalogChanged() {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.CATEGORY));
+    }
 }
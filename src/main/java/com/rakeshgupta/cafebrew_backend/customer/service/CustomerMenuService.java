@@ -0,0 +1,41 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.MenuItemResponse;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import com.rakeshgupta.cafebrew_backend.service.ImageVariantResolver;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the public menu. Menu management and the admin listing stay in {@link MenuService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Observed(name = "cafebrew.service")
+public class CustomerMenuService {
+
+    private final MenuItemRepository menuItemRepository;
+    private final ImageVariantResolver imageVariantResolver;
+
+    /**
+     * Get available menu items for customers.
+     * Returns only available items with active categories, sorted by category display order and name.
+     * This filters out items whose category has been deactivated.
+     * Projected straight into response DTOs; no entities are loaded.
+     * Resized image variants are attached with one extra query.
+     */
+    @Transactional(readOnly = true)
+    public List<MenuItemResponse> getAvailableMenu() {
+        List<MenuItemResponse> items = menuItemRepository.findAvailableMenuItemResponses();
+        Map<String, List<ImageVariantResponse>> variants = imageVariantResolver.resolve(
+                items.stream().map(MenuItemResponse::getImageUrl).toList());
+        items.forEach(item -> item.setImageVariants(variants.get(item.getImageUrl())));
+        return items;
+    }
+}
@@ -0,0 +1,161 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ExtraIngredientResponse;
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
+import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
+import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
+import com.rakeshgupta.cafebrew_backend.customer.repository.ExtraIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory lookup behind the public extra-ingredient endpoints.
+ * Maps each active category to its active extra ingredients, sorted by name and already
+ * serialized to JSON, so customer requests never touch the database.
+ * The lookup is rebuilt from {@link ExtraIngredientRepository#findAllWithCategories()} and
+ * swapped atomically whenever categories or extra ingredients change, including on another
+ * instance ({@link CatalogVersionTracker}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExtraIngredientLookup {
+
+    private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final ExtraIngredientRepository extraIngredientRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Before WarmupService, which marks the instance ready once it has run
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getType() != CatalogChangedEvent.Type.MENU_ITEM) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuild the lookup from the database and publish it.
+     */
+    public synchronized void refresh() {
+        List<ExtraIngredient> all = extraIngredientRepository.findAllWithCategories();
+
+        List<byte[]> serialized = new ArrayList<>();
+        Map<Long, List<Integer>> ordinals = new HashMap<>();
+        for (ExtraIngredient extraIngredient : all) {
+            if (!Boolean.TRUE.equals(extraIngredient.getActive())) {
+                continue;
+            }
+            int ordinal = serialized.size();
+            serialized.add(serialize(ExtraIngredientResponse.fromEntity(extraIngredient)));
+            for (Category category : extraIngredient.getCategories()) {
+                if (Boolean.TRUE.equals(category.getActive())) {
+                    ordinals.computeIfAbsent(category.getId(), id -> new ArrayList<>()).add(ordinal);
+                }
+            }
+        }
+
+        byte[][] items = serialized.toArray(new byte[0][]);
+        Map<Long, int[]> ordinalsByCategory = new HashMap<>();
+        Map<Long, byte[]> jsonByCategory = new HashMap<>();
+        ordinals.forEach((categoryId, list) -> {
+            int[] sorted = list.stream().mapToInt(Integer::intValue).toArray();
+            ordinalsByCategory.put(categoryId, sorted);
+            jsonByCategory.put(categoryId, toJsonArray(items, sorted));
+        });
+
+        snapshot = new Snapshot(items, Map.copyOf(ordinalsByCategory), Map.copyOf(jsonByCategory));
+        log.info("Extra ingredient lookup refreshed: {} active ingredients across {} categories",
+                items.length, ordinalsByCategory.size());
+    }
+
+    /**
+     * Active extra ingredients for an active category as a JSON array, sorted by name.
+     */
+    public byte[] getActiveByCategoryJson(Long categoryId) {
+        byte[] json = snapshot.jsonByCategory().get(categoryId);
+        return json != null ? json : EMPTY_ARRAY;
+    }
+
+    /**
+     * Distinct active extra ingredients across the given active categories as a JSON array,
+     * sorted by name.
+     */
+    public byte[] getActiveByCategoriesJson(List<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return EMPTY_ARRAY;
+        }
+        Snapshot current = snapshot;
+        if (categoryIds.size() == 1) {
+            return getActiveByCategoryJson(categoryIds.get(0));
+        }
+
+        BitSet selected = new BitSet(current.items().length);
+        for (Long categoryId : categoryIds) {
+            int[] ordinals = current.ordinalsByCategory().get(categoryId);
+            if (ordinals != null) {
+                for (int ordinal : ordinals) {
+                    selected.set(ordinal);
+                }
+            }
+        }
+        return toJsonArray(current.items(), selected.stream().toArray());
+    }
+
+    private byte[] serialize(ExtraIngredientResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize extra ingredient " + response.getId(), e);
+        }
+    }
+
+    private static byte[] toJsonArray(byte[][] items, int[] ordinals) {
+        if (ordinals.length == 0) {
+            return EMPTY_ARRAY;
+        }
+        int size = 1 + ordinals.length;
+        for (int ordinal : ordinals) {
+            size += items[ordinal].length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < ordinals.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(items[ordinals[i]]);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private record Snapshot(byte[][] items, Map<Long, int[]> ordinalsByCategory, Map<Long, byte[]> jsonByCategory) {
+
+        static final Snapshot EMPTY = new Snapshot(new byte[0][], Map.of(), Map.of());
+    }
+}
@@ -2,6 +2,7 @@ package com.rakeshgupta.cafebrew_backend.customer.service;
 
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.CreateExtraIngredientRequest;
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.UpdateExtraIngredientRequest;
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
 import com.rakeshgupta.cafebrew_backend.common.exception.*;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
 import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
@@ -10,6 +11,7 @@ import com.rakeshgupta.cafebrew_backend.customer.repository.ExtraIngredientRepos
 import com.rakeshgupta.cafebrew_backend.customer.repository.OrderItemExtraRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class ExtraIngredientServiceImpl implements ExtraIngredientService {
     private final ExtraIngredientRepository extraIngredientRepository;
     private final CategoryRepository categoryRepository;
     private final OrderItemExtraRepository orderItemExtraRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== Admin Operations ====================
 
@@ -74,6 +77,7 @@ public class ExtraIngredientServiceImpl implements ExtraIngredientService {
         log.info("Created extra ingredient: {} with {} categories", 
                 extraIngredient.getName(), 
                 extraIngredient.getCategories().size());
+        publishCatalogChanged();
 
         return extraIngredient;
     }
@@ -106,6 +110,7 @@ public class ExtraIngredientServiceImpl implements ExtraIngredientService {
         log.info("Updated extra ingredient: {} with {} categories", 
                 extraIngredient.getName(), 
                 extraIngredient.getCategories().size());
+        publishCatalogChanged();
 
         return extraIngredient;
     }
@@ -127,6 +132,7 @@ public class ExtraIngredientServiceImpl implements ExtraIngredientService {
         extraIngredientRepository.delete(extraIngredient);
 
         log.info("Deleted extra ingredient: {}", extraIngredient.getName());
+        publishCatalogChanged();
     }
 
     // ==================== Customer Operations ====================
@@ -204,6 +210,10 @@ public class ExtraIngredientServiceImpl implements ExtraIngredientService {
 
     // ==================== Private Helper Methods ====================
 
+    private void publishCatalogChanged() {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.EXTRA_INGREDIENT));
+    }
+
     /**
      * Fetches and validates category IDs.
      * Throws InvalidCategoryException if any category ID is not found.
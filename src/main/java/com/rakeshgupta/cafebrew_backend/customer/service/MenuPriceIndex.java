@@ -0,0 +1,175 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
+import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
+import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
+import com.rakeshgupta.cafebrew_backend.customer.repository.ExtraIngredientRepository;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Read-mostly price index used by order placement.
+ * Holds the orderable menu items (available, in an active category) and the active extra
+ * ingredients keyed by ID, with prices stored as long paise in open-addressing tables.
+ * Lookups never touch the database or allocate; the whole index is rebuilt and swapped
+ * after every catalog mutation commits, on this instance or, via {@link CatalogVersionTracker},
+ * on another.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPriceIndex {
+
+    /**
+     * Returned by the price lookups when the ID is not orderable.
+     */
+    public static final long MISSING = -1L;
+
+    private final MenuItemRepository menuItemRepository;
+    private final ExtraIngredientRepository extraIngredientRepository;
+
+    private volatile PriceTable menuItems = PriceTable.EMPTY;
+    private volatile PriceTable extraIngredients = PriceTable.EMPTY;
+
+    // Before WarmupService, which marks the instance ready once it has run
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Rebuild both tables from the database and publish them atomically per table.
+     */
+    public synchronized void refresh() {
+        List<MenuItem> items = menuItemRepository.findAvailableMenuItemsWithActiveCategories();
+        PriceTable itemTable = new PriceTable(items.size());
+        for (MenuItem item : items) {
+            itemTable.put(item.getId(), toPaise(item.getPrice()), item.getName());
+        }
+
+        List<ExtraIngredient> extras = extraIngredientRepository.findByActiveTrueOrderByNameAsc();
+        PriceTable extraTable = new PriceTable(extras.size());
+        for (ExtraIngredient extra : extras) {
+            extraTable.put(extra.getId(), toPaise(extra.getPrice()), extra.getName());
+        }
+
+        menuItems = itemTable;
+        extraIngredients = extraTable;
+        log.info("Price index refreshed: {} menu items, {} extra ingredients", items.size(), extras.size());
+    }
+
+    /**
+     * Price of an orderable menu item in paise, or {@link #MISSING}.
+     */
+    public long menuItemPrice(long menuItemId) {
+        return menuItems.price(menuItemId);
+    }
+
+    /**
+     * Name of an orderable menu item, or null if it is not in the index.
+     */
+    public String menuItemName(long menuItemId) {
+        return menuItems.name(menuItemId);
+    }
+
+    /**
+     * Price of an active extra ingredient in paise, or {@link #MISSING}.
+     */
+    public long extraIngredientPrice(long extraIngredientId) {
+        return extraIngredients.price(extraIngredientId);
+    }
+
+    /**
+     * Name of an active extra ingredient, or null if it is not in the index.
+     */
+    public String extraIngredientName(long extraIngredientId) {
+        return extraIngredients.name(extraIngredientId);
+    }
+
+    public static long toPaise(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    /**
+     * Linear-probing hash table from a positive ID to a price and name.
+     * Key 0 marks an empty slot, which is safe because identity columns start at 1.
+     * Instances are fully built before being published and never mutated afterwards.
+     */
+    static final class PriceTable {
+
+        static final PriceTable EMPTY = new PriceTable(0);
+
+        private final long[] keys;
+        private final long[] prices;
+        private final String[] names;
+        private final int mask;
+
+        PriceTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+            this.keys = new long[capacity];
+            this.prices = new long[capacity];
+            this.names = new String[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void put(long key, long price, String name) {
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            prices[slot] = price;
+            names[slot] = name;
+        }
+
+        long price(long key) {
+            int slot = find(key);
+            return slot < 0 ? MISSING : prices[slot];
+        }
+
+        String name(long key) {
+            int slot = find(key);
+            return slot < 0 ? null : names[slot];
+        }
+
+        private int find(long key) {
+            if (key <= 0) {
+                return -1;
+            }
+            int slot = slot(key);
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
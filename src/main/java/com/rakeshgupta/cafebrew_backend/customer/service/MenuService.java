@@ -2,6 +2,9 @@ package com.rakeshgupta.cafebrew_backend.customer.service;
 
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.CreateMenuItemRequest;
 import com.rakeshgupta.cafebrew_backend.admin.dto.request.UpdateMenuItemRequest;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.MenuItemResponse;
+import com.rakeshgupta.cafebrew_backend.common.event.CatalogChangedEvent;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
 import com.rakeshgupta.cafebrew_backend.common.exception.CategoryNotFoundException;
 import com.rakeshgupta.cafebrew_backend.common.exception.MenuItemNotFoundException;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
@@ -9,25 +12,36 @@ import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
 import com.rakeshgupta.cafebrew_backend.customer.repository.CategoryRepository;
 import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
 import com.rakeshgupta.cafebrew_backend.service.ImageStorageService;
+import com.rakeshgupta.cafebrew_backend.service.ImageVariantResolver;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Slf4j
+@Observed(name = "cafebrew.service")
 public class MenuService {
     
     private final MenuItemRepository menuItemRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageVariantResolver imageVariantResolver;
     private ImageStorageService imageStorageService;
     
-    public MenuService(MenuItemRepository menuItemRepository, CategoryRepository categoryRepository) {
+    public MenuService(MenuItemRepository menuItemRepository, CategoryRepository categoryRepository,
+                       ApplicationEventPublisher eventPublisher, ImageVariantResolver imageVariantResolver) {
         this.menuItemRepository = menuItemRepository;
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.imageVariantResolver = imageVariantResolver;
     }
     
     @Autowired(required = false)
@@ -36,24 +50,20 @@ public class MenuService {
         this.imageStorageService = imageStorageService;
     }
     
-    /**
-     * Get available menu items for customers.
-     * Returns only available items with active categories, sorted by category display order and name.
-     * This filters out items whose category has been deactivated.
-     */
-    @Transactional(readOnly = true)
-    public List<MenuItem> getAvailableMenu() {
-        return menuItemRepository.findAvailableMenuItemsWithActiveCategories();
-    }
-    
     /**
      * Get ALL menu items for admin management.
      * Returns all items (including unavailable and those in inactive categories) 
      * sorted by category display order and name.
+     * Projected straight into response DTOs; no entities are loaded.
+     * Resized image variants are attached with one extra query.
      */
     @Transactional(readOnly = true)
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAllMenuItemsWithCategories();
+    public List<MenuItemResponse> getAllMenuItems() {
+        List<MenuItemResponse> items = menuItemRepository.findAllMenuItemResponses();
+        Map<String, List<ImageVariantResponse>> variants = imageVariantResolver.resolve(
+                items.stream().map(MenuItemResponse::getImageUrl).toList());
+        items.forEach(item -> item.setImageVariants(variants.get(item.getImageUrl())));
+        return items;
     }
     
     /**
@@ -67,6 +77,7 @@ public class MenuService {
         
         menuItem.setAvailable(available);
         menuItemRepository.save(menuItem);
+        publishCatalogChanged();
     }
     
     /**
@@ -107,13 +118,16 @@ public class MenuService {
         menuItem.setAvailable(request.getAvailable() != null ? request.getAvailable() : true);
         menuItem.setImageUrl(request.getImageUrl());
         
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        retainImage(saved.getImageUrl());
+        publishCatalogChanged();
+        return saved;
     }
     
     /**
      * Update an existing menu item.
      * Validates that the category exists and is active.
-     * Deletes old image from R2 if a new image URL is provided.
+     * When the image changes, the old one is queued for deletion from R2 unless another menu item uses it.
      * @param id the menu item ID to update
      * @param request the update request with new data
      * @return the updated menu item
@@ -133,17 +147,13 @@ public class MenuService {
             throw new IllegalArgumentException("Cannot assign menu item to inactive category");
         }
         
-        // Delete old image from R2 if a new image URL is provided and it's different
+        // Images are shared between items with the same content, so move the reference
+        // and let the storage service delete the old image once nothing uses it
         String oldImageUrl = menuItem.getImageUrl();
         String newImageUrl = request.getImageUrl();
-        if (imageStorageService != null && oldImageUrl != null && !oldImageUrl.isEmpty() 
-                && newImageUrl != null && !newImageUrl.equals(oldImageUrl)) {
-            try {
-                imageStorageService.deleteImage(oldImageUrl);
-                log.info("Deleted old image for menu item {}: {}", id, oldImageUrl);
-            } catch (Exception e) {
-                log.warn("Failed to delete old image for menu item {}: {}", id, e.getMessage());
-            }
+        if (!Objects.equals(oldImageUrl, newImageUrl)) {
+            retainImage(newImageUrl);
+            releaseImage(id, oldImageUrl);
         }
         
         menuItem.setName(request.getName());
@@ -156,12 +166,14 @@ public class MenuService {
         }
         menuItem.setImageUrl(request.getImageUrl());
         
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        publishCatalogChanged();
+        return saved;
     }
     
     /**
      * Delete a menu item by ID.
-     * Also deletes the associated image from R2 storage if present.
+     * Also queues the associated image for deletion from R2 unless another menu item uses it.
      * @param id the menu item ID to delete
      * @throws MenuItemNotFoundException if menu item not found
      */
@@ -170,17 +182,32 @@ public class MenuService {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new MenuItemNotFoundException(id));
         
-        // Delete image from R2 if present
-        String imageUrl = menuItem.getImageUrl();
-        if (imageStorageService != null && imageUrl != null && !imageUrl.isEmpty()) {
-            try {
-                imageStorageService.deleteImage(imageUrl);
-                log.info("Deleted image for menu item {}: {}", id, imageUrl);
-            } catch (Exception e) {
-                log.warn("Failed to delete image for menu item {}: {}", id, e.getMessage());
-            }
-        }
+        releaseImage(id, menuItem.getImageUrl());
         
         menuItemRepository.deleteById(id);
+        publishCatalogChanged();
+    }
+    
+    private void retainImage(String imageUrl) {
+        if (imageStorageService != null && imageUrl != null && !imageUrl.isEmpty()) {
+            imageStorageService.retainImage(imageUrl);
+        }
+    }
+    
+    /**
+     * The reference count and delete queue change in the caller's transaction, so a failure here
+     * propagates and rolls back the whole edit rather than leaving the count out of step with the item.
+     */
+    private void releaseImage(Long id, String imageUrl) {
+        if (imageStorageService == null || imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+        if (imageStorageService.releaseImage(imageUrl)) {
+            log.info("Queued image of menu item {} for deletion: {}", id, imageUrl);
+        }
+    }
+    
+    private void publishCatalogChanged() {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Type.MENU_ITEM));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase timers for order placement, published as cafebrew.order.place.phase{phase=...}.
+ * Timers are created once, so recording a phase is a clock read and a histogram update.
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Phase {
+        VALIDATE,
+        PRICE,
+        PERSIST,
+        NOTIFY,
+        GATEWAY
+    }
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("cafebrew.order.place.phase")
+                    .description("Time spent in each phase of placing an order")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Record a phase that started at {@code startNanos} and ends now.
+     * @return the end time, to pass as the start of the next phase
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
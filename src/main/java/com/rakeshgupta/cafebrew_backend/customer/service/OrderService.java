@@ -19,7 +19,10 @@ import com.rakeshgupta.cafebrew_backend.customer.repository.PaymentRepository;
 import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
 import com.rakeshgupta.cafebrew_backend.common.enums.PaymentMode;
 import com.rakeshgupta.cafebrew_backend.common.enums.PaymentStatus;
+import com.rakeshgupta.cafebrew_backend.config.RequestIdFilter;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "cafebrew.service")
 public class OrderService {
     
     private final OrderRepository orderRepository;
@@ -38,6 +42,9 @@ public class OrderService {
     private final PaymentRepository paymentRepository;
     private final PaymentService paymentService;
     private final OrderNotificationService orderNotificationService;
+    private final ExtraIngredientService extraIngredientService;
+    private final MenuPriceIndex menuPriceIndex;
+    private final OrderMetrics orderMetrics;
     
     /**
      * PLACE ORDER
@@ -45,13 +52,21 @@ public class OrderService {
      */
     @Transactional
     public PlaceOrderResponse placeOrder(PlaceOrderRequest request) {
+        long phaseStart = System.nanoTime();
         
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
+        for (PlaceOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
+            if (itemRequest.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than zero");
+            }
+        }
+        phaseStart = orderMetrics.record(OrderMetrics.Phase.VALIDATE, phaseStart);
         
         Order order = new Order();
         order.setOrderCode(generateOrderCode());
+        MDC.put(RequestIdFilter.ORDER_CODE, order.getOrderCode());
         order.setCustomerName(request.getCustomerName());
         order.setCustomerPhone(request.getCustomerPhone());
         order.setTableNo(request.getTableNo());
@@ -60,39 +75,36 @@ public class OrderService {
         order.setPaymentStatus(PaymentStatus.PENDING);
         
         List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalPaise = 0;
         
         for (PlaceOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
             
-            MenuItem menuItem = menuItemRepository.findByIdAndAvailableTrue(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new IllegalStateException("Menu item not available: " + itemRequest.getMenuItemId()));
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            long unitPaise = resolveMenuItem(orderItem, itemRequest.getMenuItemId());
             
-            if (itemRequest.getQuantity() <= 0) {
-                throw new IllegalArgumentException("Quantity must be greater than zero");
+            List<Long> extraIds = itemRequest.getExtraIngredientIds();
+            if (extraIds != null) {
+                for (Long extraId : extraIds) {
+                    unitPaise = Math.addExact(unitPaise, resolveExtra(orderItem, extraId));
+                }
             }
             
-            BigDecimal itemTotal = menuItem.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
-            
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(order);
-            orderItem.setMenuItemId(menuItem.getId());
-            orderItem.setMenuItemName(menuItem.getName());
-            orderItem.setPrice(menuItem.getPrice());
+            long itemTotalPaise = Math.multiplyExact(unitPaise, (long) itemRequest.getQuantity());
             orderItem.setQuantity(itemRequest.getQuantity());
-            orderItem.setTotalPrice(itemTotal);
+            orderItem.setTotalPrice(MenuPriceIndex.toRupees(itemTotalPaise));
             
             orderItems.add(orderItem);
-            totalAmount = totalAmount.add(itemTotal);
+            totalPaise = Math.addExact(totalPaise, itemTotalPaise);
         }
         
+        BigDecimal totalAmount = MenuPriceIndex.toRupees(totalPaise);
         order.setItems(orderItems);
         order.setTotalAmount(totalAmount);
+        phaseStart = orderMetrics.record(OrderMetrics.Phase.PRICE, phaseStart);
         
         orderRepository.save(order);
         
-        // Notify admin dashboard about new order via WebSocket
-        orderNotificationService.notifyNewOrder(toAdminOrderResponse(order));
-        
         // Create Payment record
         Payment payment = new Payment();
         payment.setOrder(order);
@@ -101,11 +113,17 @@ public class OrderService {
         payment.setAmount(totalAmount);
         
         paymentRepository.save(payment);
+        phaseStart = orderMetrics.record(OrderMetrics.Phase.PERSIST, phaseStart);
+        
+        // Notify admin dashboard about new order via WebSocket
+        orderNotificationService.notifyNewOrder(toAdminOrderResponse(order));
+        phaseStart = orderMetrics.record(OrderMetrics.Phase.NOTIFY, phaseStart);
         
         String razorpayOrderId = null;
         
         if (order.getPaymentMode() == PaymentMode.ONLINE) {
             razorpayOrderId = paymentService.createOnlinePayment(order);
+            orderMetrics.record(OrderMetrics.Phase.GATEWAY, phaseStart);
         }
         
         return new PlaceOrderResponse(
@@ -124,6 +142,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public TrackOrderResponse trackOrder(String orderCode) {
+        MDC.put(RequestIdFilter.ORDER_CODE, orderCode);
         
         Order order = orderRepository.findByOrderCode(orderCode)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid order code"));
@@ -174,6 +193,48 @@ public class OrderService {
         return false;
     }
     
+    /**
+     * Fill in the menu item snapshot on the order item and return its base price in paise.
+     * Served from the price index; falls back to the database for items the index has not
+     * picked up yet (e.g. created moments ago).
+     */
+    private long resolveMenuItem(OrderItem orderItem, Long menuItemId) {
+        long pricePaise = menuItemId != null ? menuPriceIndex.menuItemPrice(menuItemId) : MenuPriceIndex.MISSING;
+        if (pricePaise != MenuPriceIndex.MISSING) {
+            orderItem.setMenuItemId(menuItemId);
+            orderItem.setMenuItemName(menuPriceIndex.menuItemName(menuItemId));
+            orderItem.setPrice(MenuPriceIndex.toRupees(pricePaise));
+            return pricePaise;
+        }
+        
+        MenuItem menuItem = menuItemRepository.findByIdAndAvailableTrue(menuItemId)
+                .orElseThrow(() -> new IllegalStateException("Menu item not available: " + menuItemId));
+        orderItem.setMenuItemId(menuItem.getId());
+        orderItem.setMenuItemName(menuItem.getName());
+        orderItem.setPrice(menuItem.getPrice());
+        return MenuPriceIndex.toPaise(menuItem.getPrice());
+    }
+    
+    /**
+     * Attach an extra ingredient snapshot to the order item and return its price in paise.
+     * Falls back to the database on an index miss so missing and inactive extras
+     * are reported with the usual exceptions.
+     */
+    private long resolveExtra(OrderItem orderItem, Long extraIngredientId) {
+        long pricePaise = extraIngredientId != null
+                ? menuPriceIndex.extraIngredientPrice(extraIngredientId) : MenuPriceIndex.MISSING;
+        if (pricePaise != MenuPriceIndex.MISSING) {
+            orderItem.addExtra(new OrderItemExtra(orderItem, extraIngredientId,
+                    menuPriceIndex.extraIngredientName(extraIngredientId), MenuPriceIndex.toRupees(pricePaise)));
+            return pricePaise;
+        }
+        
+        extraIngredientService.validateExtraIngredients(List.of(extraIngredientId));
+        ExtraIngredient extra = extraIngredientService.getExtraIngredientById(extraIngredientId);
+        orderItem.addExtra(new OrderItemExtra(orderItem, extra));
+        return MenuPriceIndex.toPaise(extra.getPrice());
+    }
+    
     private String generateOrderCode() {
         return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
@@ -185,10 +246,14 @@ public class OrderService {
         List<AdminOrderItemResponse> items = order.getItems().stream()
                 .map(item -> new AdminOrderItemResponse(
                         item.getId(),
+                        item.getMenuItemId(),
                         item.getMenuItemName(),
                         item.getPrice(),
                         item.getQuantity(),
-                        item.getTotalPrice()
+                        item.getTotalPrice(),
+                        item.getExtras().stream()
+                                .map(OrderItemExtraResponse::fromEntity)
+                                .toList()
                 ))
                 .toList();
         
@@ -1,15 +1,21 @@
 package com.rakeshgupta.cafebrew_backend.customer.service;
 
+import com.rakeshgupta.cafebrew_backend.admin.service.OrderNotificationService;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Order;
 import com.rakeshgupta.cafebrew_backend.customer.entity.Payment;
 import com.rakeshgupta.cafebrew_backend.customer.repository.PaymentRepository;
 import com.rakeshgupta.cafebrew_backend.customer.repository.OrderRepository;
 import com.rakeshgupta.cafebrew_backend.common.dto.PaymentWebhookRequest;
 import com.rakeshgupta.cafebrew_backend.common.enums.PaymentStatus;
+import com.rakeshgupta.cafebrew_backend.config.RequestIdFilter;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,22 +26,29 @@ import java.nio.charset.StandardCharsets;
 
 @Service
 @Slf4j
+@Observed(name = "cafebrew.service")
 public class PaymentService {
     
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
+    private final OrderNotificationService orderNotificationService;
     private final RazorpayClient razorpayClient;
     private final String razorpayKeySecret;
+    private final ObservationRegistry observationRegistry;
     
     public PaymentService(
             PaymentRepository paymentRepository,
             OrderRepository orderRepository,
+            OrderNotificationService orderNotificationService,
+            ObservationRegistry observationRegistry,
             @Value("${razorpay.key.id}") String razorpayKeyId,
             @Value("${razorpay.key.secret}") String razorpayKeySecret
     ) throws RazorpayException {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
+        this.orderNotificationService = orderNotificationService;
         this.razorpayKeySecret = razorpayKeySecret;
+        this.observationRegistry = observationRegistry;
         this.razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
     }
     
@@ -51,7 +64,7 @@ public class PaymentService {
             orderRequest.put("currency", "INR");
             orderRequest.put("receipt", order.getOrderCode());
             
-            com.razorpay.Order razorpayOrder = razorpayClient.orders.create(orderRequest);
+            com.razorpay.Order razorpayOrder = createRazorpayOrder(orderRequest);
             String razorpayOrderId = razorpayOrder.get("id");
             
             log.info("Created Razorpay order: {} for order: {}", razorpayOrderId, order.getOrderCode());
@@ -69,6 +82,27 @@ public class PaymentService {
         }
     }
     
+    /**
+     * Razorpay orders API call, observed as cafebrew.razorpay.requests (a timer and a client span).
+     */
+    private com.razorpay.Order createRazorpayOrder(JSONObject orderRequest) throws RazorpayException {
+        Observation observation = Observation.createNotStarted("cafebrew.razorpay.requests", observationRegistry)
+                .contextualName("razorpay orders.create")
+                .lowCardinalityKeyValue("operation", "orders.create")
+                .start();
+        String outcome = "error";
+        try (Observation.Scope scope = observation.openScope()) {
+            com.razorpay.Order razorpayOrder = razorpayClient.orders.create(orderRequest);
+            outcome = "success";
+            return razorpayOrder;
+        } catch (RazorpayException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+    
     /**
      * Verifies Razorpay webhook signature.
      */
@@ -111,6 +145,8 @@ public class PaymentService {
                 .orElseThrow(() -> new IllegalStateException("Payment not found for Razorpay order: " + razorpayOrderId));
         
         Order order = payment.getOrder();
+        MDC.put(RequestIdFilter.ORDER_CODE, order.getOrderCode());
+        PaymentStatus previousStatus = order.getPaymentStatus();
         
         if ("captured".equalsIgnoreCase(status)) {
             payment.setPaymentStatus(PaymentStatus.PAID);
@@ -125,5 +161,9 @@ public class PaymentService {
         
         paymentRepository.save(payment);
         orderRepository.save(order);
+        
+        if (order.getPaymentStatus() != previousStatus) {
+            orderNotificationService.notifyPaymentStatusUpdate(order.getId(), order.getOrderCode(), order.getPaymentStatus());
+        }
     }
 }
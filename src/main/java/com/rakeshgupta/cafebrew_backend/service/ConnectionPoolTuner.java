@@ -0,0 +1,191 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resizes the Hikari pool between app.db.pool.min-size and app.db.pool.max-size from what it
+ * observes, instead of a fixed maximum-pool-size.
+ * Every second it samples demand (active connections plus threads waiting for one); every
+ * app.db.pool.tune-interval-ms it compares that window with the pool's acquire-wait and
+ * connection-usage timers:
+ * <ul>
+ *   <li>grow by a quarter when demand exceeded the pool and the mean wait was at least
+ *       app.db.pool.grow-wait-ms, unless connection usage time has risen well above its baseline
+ *       (the database itself is the bottleneck, and more connections would only add contention)</li>
+ *   <li>shrink by one after several windows using at most half the pool</li>
+ * </ul>
+ * Hikari applies a larger maximum immediately and retires idle connections above a smaller one.
+ * The decision itself is {@link PoolSizePolicy}; this class feeds it measurements and applies the result.
+ * Before the first decision the upper bound is checked against the server: the connections Postgres
+ * accepts (max_connections less superuser_reserved_connections), shared by app.db.pool.instances
+ * instances, each keeping one connection back for the order notification listener and ad-hoc sessions.
+ * A larger app.db.pool.max-size is lowered to that share with a warning.
+ */
+@Service
+@Slf4j
+public class ConnectionPoolTuner {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int instances;
+    private PoolSizePolicy policy;
+
+    private final AtomicInteger peakDemand = new AtomicInteger();
+    private volatile HikariDataSource hikari;
+    private TimerWindow acquireWindow;
+    private TimerWindow usageWindow;
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public ConnectionPoolTuner(
+            ObjectProvider<DataSource> dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.db.pool.auto-tune:true}") boolean enabled,
+            @Value("${app.db.pool.min-size:5}") int minSize,
+            @Value("${app.db.pool.max-size:10}") int maxSize,
+            @Value("${app.db.pool.grow-wait-ms:5}") double growWaitMillis,
+            @Value("${app.db.pool.instances:1}") int instances
+    ) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.policy = new PoolSizePolicy(minSize, maxSize, growWaitMillis);
+        this.instances = Math.max(1, instances);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void sample() {
+        HikariPoolMXBean pool = enabled ? pool() : null;
+        if (pool != null) {
+            int demand = pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            peakDemand.accumulateAndGet(demand, Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.db.pool.tune-interval-ms:15000}",
+            initialDelayString = "${app.db.pool.tune-interval-ms:15000}")
+    public synchronized void tune() {
+        if (!enabled || pool() == null) {
+            return;
+        }
+        if (acquireWindow == null) {
+            String poolName = hikari.getPoolName();
+            acquireWindow = new TimerWindow(meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer());
+            usageWindow = new TimerWindow(meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer());
+            capToServerLimit();
+        }
+
+        int current = hikari.getHikariConfigMXBean().getMaximumPoolSize();
+        int peak = peakDemand.getAndSet(0);
+        double waitMillis = acquireWindow.nextMeanMillis();
+        double usageMillis = usageWindow.nextMeanMillis();
+        PoolSizePolicy.Decision decision = policy.decide(current, peak, waitMillis, usageMillis);
+        int target = decision.target();
+        String reason = decision.reason();
+
+        if (target != current) {
+            hikari.getHikariConfigMXBean().setMaximumPoolSize(target);
+            log.info("Connection pool resized {} -> {} ({}; peak demand {}, mean wait {} ms, mean usage {} ms)",
+                    current, target, reason, peak, round(waitMillis), round(usageMillis));
+        }
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("at", LocalDateTime.now().toString());
+        run.put("maximumPoolSize", target);
+        run.put("bounds", policy.minSize() + ".." + policy.maxSize());
+        run.put("decision", reason);
+        run.put("peakDemand", peak);
+        run.put("meanWaitMs", round(waitMillis));
+        run.put("meanUsageMs", round(usageMillis));
+        run.put("baselineUsageMs", round(policy.baselineUsageMillis()));
+        lastRun = run;
+    }
+
+    private void capToServerLimit() {
+        Integer available;
+        try {
+            available = new JdbcTemplate(hikari).queryForObject(
+                    "SELECT current_setting('max_connections')::int - current_setting('superuser_reserved_connections')::int",
+                    Integer.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not read max_connections, keeping pool bounds {}..{}: {}",
+                    policy.minSize(), policy.maxSize(), e.getMessage());
+            return;
+        }
+        int share = Math.max(1, available / instances - 1);
+        if (policy.maxSize() > share) {
+            log.warn("app.db.pool.max-size {} exceeds this instance's share of the server's {} connections ({} instances); "
+                    + "capping the pool at {}", policy.maxSize(), available, instances, share);
+            policy = policy.capped(share);
+        }
+    }
+
+    /**
+     * The last tuning decision and the measurements behind it.
+     */
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    private HikariPoolMXBean pool() {
+        if (hikari == null) {
+            DataSource candidate = dataSource.getIfAvailable();
+            hikari = candidate == null ? null : DataSourceUnwrapper.unwrap(candidate, HikariDataSource.class);
+            if (hikari == null) {
+                return null;
+            }
+        }
+        return hikari.getHikariPoolMXBean();
+    }
+
+    private static double round(double value) {
+        return Double.isNaN(value) ? value : Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Mean of a timer over the interval since the previous call.
+     */
+    private static final class TimerWindow {
+
+        private final Timer timer;
+        private long count;
+        private double totalMillis;
+
+        TimerWindow(Timer timer) {
+            this.timer = timer;
+            if (timer != null) {
+                this.count = timer.count();
+                this.totalMillis = timer.totalTime(TimeUnit.MILLISECONDS);
+            }
+        }
+
+        double nextMeanMillis() {
+            if (timer == null) {
+                return Double.NaN;
+            }
+            long newCount = timer.count();
+            double newTotal = timer.totalTime(TimeUnit.MILLISECONDS);
+            double mean = newCount > count ? (newTotal - totalMillis) / (newCount - count) : Double.NaN;
+            count = newCount;
+            totalMillis = newTotal;
+            return mean;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.rakeshgupta.cafebrew_backend.common.event.ImageDeletesQueuedEvent;
+import com.rakeshgupta.cafebrew_backend.customer.entity.PendingImageDelete;
+import com.rakeshgupta.cafebrew_backend.customer.repository.PendingImageDeleteRepository;
+import com.rakeshgupta.cafebrew_backend.customer.repository.StoredImageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable queue of R2 objects to delete, backed by the pending_image_deletes table.
+ * Objects are queued in the transaction that drops the last reference to their image and
+ * deleted by a background worker in DeleteObjects batches once it commits. Failures are
+ * retried with exponential backoff and stay visible in the table and the stats.
+ * A batch is claimed with row locks (FOR UPDATE SKIP LOCKED) and the locks are held until its
+ * DeleteObjects call has finished, so instances never drain the same rows, and an upload of the
+ * same content, which cancels the pending rows first ({@link #cancel}), either removes them
+ * before the worker claims them or waits until the objects are gone and then writes them again.
+ */
+@Service
+@Slf4j
+public class ImageDeleteQueue {
+
+    // DeleteObjects accepts at most 1000 keys per request
+    private static final int MAX_DELETE_BATCH = 1000;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PendingImageDeleteRepository pendingImageDeleteRepository;
+    private final StoredImageRepository storedImageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final S3Client r2Client;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    // Drains requested after commit run here, off the request thread
+    private final ExecutorService drainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-delete-queue");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final AtomicLong deletedTotal = new AtomicLong();
+    private final AtomicLong failedAttemptsTotal = new AtomicLong();
+    private final AtomicLong droppedTotal = new AtomicLong();
+    private volatile LocalDateTime lastDrainAt;
+
+    // Optional so the application starts without R2 settings; only used once something is queued
+    @Value("${r2.bucket.name:}")
+    private String bucketName;
+
+    public ImageDeleteQueue(
+            PendingImageDeleteRepository pendingImageDeleteRepository,
+            StoredImageRepository storedImageRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Lazy S3Client r2Client,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.images.cleanup.batch-size:200}") int batchSize,
+            @Value("${app.images.cleanup.initial-backoff-ms:30000}") long initialBackoffMillis,
+            @Value("${app.images.cleanup.max-backoff-ms:3600000}") long maxBackoffMillis
+    ) {
+        this.pendingImageDeleteRepository = pendingImageDeleteRepository;
+        this.storedImageRepository = storedImageRepository;
+        this.eventPublisher = eventPublisher;
+        this.r2Client = r2Client;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, Math.min(MAX_DELETE_BATCH, batchSize));
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainer.shutdown();
+    }
+
+    /**
+     * Queue an image and its variants for deletion, removing its stored_images row.
+     * Runs in the caller's transaction, so the queue entries commit together with the
+     * reference change that made the image unused.
+     * @param originalKey object key of the original image
+     * @param objectKeys keys to delete: the original and its variants
+     * @return false if the image is referenced again and nothing was queued
+     */
+    @Transactional
+    public boolean enqueue(String originalKey, Collection<String> objectKeys) {
+        if (storedImageRepository.deleteIfUnreferenced(originalKey) == 0
+                && storedImageRepository.existsByObjectKey(originalKey)) {
+            return false;
+        }
+        for (String objectKey : objectKeys) {
+            pendingImageDeleteRepository.insertIfAbsent(objectKey, originalKey);
+        }
+        eventPublisher.publishEvent(new ImageDeletesQueuedEvent(objectKeys.size()));
+        return true;
+    }
+
+    /**
+     * Cancel the queued deletes of an image that is being uploaded or referenced again.
+     * If the worker has claimed them, this waits until that batch is committed, by which time
+     * the objects are deleted and the caller must write them again.
+     * @return true if deletes were cancelled before the worker got to them
+     */
+    public boolean cancel(String originalKey) {
+        int cancelled = pendingImageDeleteRepository.deleteByOriginalKey(originalKey);
+        if (cancelled > 0) {
+            droppedTotal.addAndGet(cancelled);
+            log.info("Cancelled {} queued deletes of {}, which is in use again", cancelled, originalKey);
+        }
+        return cancelled > 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeletesQueued(ImageDeletesQueuedEvent event) {
+        requestDrain();
+    }
+
+    @Scheduled(initialDelayString = "${app.images.cleanup.interval-ms:60000}",
+            fixedDelayString = "${app.images.cleanup.interval-ms:60000}")
+    public void scheduledDrain() {
+        requestDrain();
+    }
+
+    private void requestDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            drainer.execute(() -> {
+                drainScheduled.set(false);
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("Image delete queue drain failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Delete every due entry, a batch at a time.
+     * @return number of objects deleted
+     */
+    public synchronized int drain() {
+        int deleted = 0;
+        int[] claimed = new int[1];
+        do {
+            deleted += transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<PendingImageDelete> due = pendingImageDeleteRepository.lockDue(now, batchSize);
+                claimed[0] = due.size();
+                return due.isEmpty() ? 0 : deleteBatch(due, now);
+            });
+        } while (claimed[0] == batchSize);
+        lastDrainAt = LocalDateTime.now();
+        return deleted;
+    }
+
+    /**
+     * Runs in the claiming transaction, with the rows locked until after DeleteObjects.
+     */
+    private int deleteBatch(List<PendingImageDelete> due, LocalDateTime now) {
+        // An image referenced again since it was queued gets its row back; keep its objects
+        Set<String> originals = new HashSet<>();
+        due.forEach(entry -> originals.add(entry.getOriginalKey()));
+        Set<String> revived = new HashSet<>(storedImageRepository.findObjectKeysIn(originals));
+
+        List<PendingImageDelete> dropped = new ArrayList<>();
+        Map<String, PendingImageDelete> byKey = new LinkedHashMap<>();
+        for (PendingImageDelete entry : due) {
+            if (revived.contains(entry.getOriginalKey())) {
+                dropped.add(entry);
+            } else {
+                byKey.put(entry.getObjectKey(), entry);
+            }
+        }
+        if (!dropped.isEmpty()) {
+            pendingImageDeleteRepository.deleteAllInBatch(dropped);
+            droppedTotal.addAndGet(dropped.size());
+            log.info("Dropped {} queued image deletes whose images are in use again", dropped.size());
+        }
+        if (byKey.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String> errors = deleteObjects(byKey.keySet());
+        List<PendingImageDelete> succeeded = new ArrayList<>();
+        List<PendingImageDelete> failed = new ArrayList<>();
+        byKey.forEach((key, entry) -> {
+            String error = errors.get(key);
+            if (error == null) {
+                succeeded.add(entry);
+                return;
+            }
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            entry.setNextAttemptAt(now.plus(backoff(attempts)));
+            failed.add(entry);
+        });
+        if (!succeeded.isEmpty()) {
+            pendingImageDeleteRepository.deleteAllInBatch(succeeded);
+            deletedTotal.addAndGet(succeeded.size());
+        }
+        if (!failed.isEmpty()) {
+            pendingImageDeleteRepository.saveAll(failed);
+            failedAttemptsTotal.addAndGet(failed.size());
+            PendingImageDelete first = failed.get(0);
+            log.warn("Failed to delete {} of {} queued images, retrying later; e.g. {} (attempt {}): {}",
+                    failed.size(), byKey.size(), first.getObjectKey(), first.getAttempts(), first.getLastError());
+        }
+        log.info("Image delete queue: {} objects deleted, {} failed", succeeded.size(), failed.size());
+        return succeeded.size();
+    }
+
+    /**
+     * @return error message per key that could not be deleted
+     */
+    private Map<String, String> deleteObjects(Collection<String> keys) {
+        Map<String, String> errors = new HashMap<>();
+        try {
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .quiet(true)
+                            .build())
+                    .build();
+            r2Client.deleteObjects(request).errors()
+                    .forEach(e -> errors.put(e.key(), e.code() + ": " + e.message()));
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            keys.forEach(key -> errors.put(key, message));
+        }
+        return errors;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", pendingImageDeleteRepository.count());
+        stats.put("retrying", pendingImageDeleteRepository.countByAttemptsGreaterThan(0));
+        stats.put("deletedTotal", deletedTotal.get());
+        stats.put("failedAttemptsTotal", failedAttemptsTotal.get());
+        stats.put("droppedTotal", droppedTotal.get());
+        stats.put("lastDrainAt", lastDrainAt);
+        return stats;
+    }
+}
@@ -1,38 +1,74 @@
 package com.rakeshgupta.cafebrew_backend.service;
 
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageDeleteResult;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageUploadResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ImageStorageService {
     
     /**
      * Upload a single image to R2 storage.
+     * Images are keyed by the SHA-256 of their content, so re-uploading a file returns the
+     * existing URL without storing it again. URLs never change content and are cached forever.
      * @param file the image file to upload
      * @param folder the folder path in the bucket (e.g., "menu-items")
      * @return the public URL of the uploaded image
      */
     String uploadImage(MultipartFile file, String folder);
+
+    /**
+     * Stream an image to R2 storage without holding it in memory.
+     * Large or unknown-length content is sent as a multipart upload, one part buffer at a time.
+     * @param content the image bytes, read once to the end
+     * @param contentLength the length in bytes, or -1 if unknown
+     * @param contentType the image MIME type
+     * @param originalFilename the client's file name, used for the extension
+     * @param folder the folder path in the bucket (e.g., "menu-items")
+     * @return the public URL of the uploaded image
+     */
+    String uploadImage(InputStream content, long contentLength, String contentType, String originalFilename, String folder);
     
     /**
-     * Upload multiple images to R2 storage.
+     * Upload multiple images to R2 storage concurrently, with bounded parallelism.
      * @param files list of image files to upload
      * @param folder the folder path in the bucket
-     * @return list of public URLs of the uploaded images
+     * @return one result per file, in the same order
      */
-    List<String> uploadImages(List<MultipartFile> files, String folder);
+    List<ImageUploadResult> uploadImages(List<MultipartFile> files, String folder);
     
     /**
-     * Delete an image from R2 storage.
+     * Record that a menu item now uses the image.
+     * @param imageUrl the public URL of the image; URLs outside our bucket are ignored
+     */
+    void retainImage(String imageUrl);
+
+    /**
+     * Drop a reference taken with {@link #retainImage(String)}.
+     * Once no menu item uses the image, it and its variants are queued for deletion in the
+     * caller's transaction and removed from R2 in the background after it commits.
+     * Runs in the caller's transaction, so callers should let failures propagate: a caught exception
+     * still leaves that transaction marked rollback-only.
+     * @param imageUrl the public URL of the image
+     * @return true if this was the last reference and the image was queued for deletion
+     */
+    boolean releaseImage(String imageUrl);
+
+    /**
+     * Delete an image and its variants from R2 storage.
+     * Images still used by a menu item are left alone.
      * @param imageUrl the public URL of the image to delete
      * @return true if deletion was successful
      */
     boolean deleteImage(String imageUrl);
     
     /**
-     * Delete multiple images from R2 storage.
+     * Delete multiple images and their variants from R2 storage with batch DeleteObjects requests.
+     * Images still used by a menu item are reported as failed.
      * @param imageUrls list of public URLs to delete
-     * @return true if all deletions were successful
+     * @return one result per URL, in the same order
      */
-    boolean deleteImages(List<String> imageUrls);
+    List<ImageDeleteResult> deleteImages(List<String> imageUrls);
 }
@@ -1,29 +1,73 @@
 package com.rakeshgupta.cafebrew_backend.service;
 
-import lombok.RequiredArgsConstructor;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageDeleteResult;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.ImageUploadResult;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
+import com.rakeshgupta.cafebrew_backend.customer.entity.StoredImage;
+import com.rakeshgupta.cafebrew_backend.customer.repository.StoredImageRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Lazy
-@RequiredArgsConstructor
 @Slf4j
 public class ImageStorageServiceImpl implements ImageStorageService {
 
     private final S3Client r2Client;
+    private final S3AsyncClient r2AsyncClient;
+    private final ImageVariantService imageVariantService;
+    private final ImageVariantResolver imageVariantResolver;
+    private final StoredImageRepository storedImageRepository;
+    private final ImageDeleteQueue imageDeleteQueue;
 
     @Value("${r2.bucket.name}")
     private String bucketName;
@@ -32,78 +76,500 @@ public class ImageStorageServiceImpl implements ImageStorageService {
     private String publicUrl;
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif", "webp");
+    private static final Map<String, String> EXTENSIONS_BY_CONTENT_TYPE = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    // S3 and R2 reject multipart parts other than the last one below 5 MiB
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+    // DeleteObjects accepts at most 1000 keys per request
+    private static final int MAX_DELETE_BATCH = 1000;
+    // Streams too large to hash in memory land here until their content key is known
+    private static final String STAGING_PREFIX = "staging/";
+
+    private final int partSize;
+    private final int batchParallelism;
+    // How long an upload waits for its variants; slower ones finish in the background
+    private final long variantWaitMillis;
+    // Feeds multipart file streams to the async client, whose event loop must never block on reads
+    private final ExecutorService streamReaders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImageStorageServiceImpl(
+            S3Client r2Client,
+            S3AsyncClient r2AsyncClient,
+            ImageVariantService imageVariantService,
+            ImageVariantResolver imageVariantResolver,
+            StoredImageRepository storedImageRepository,
+            ImageDeleteQueue imageDeleteQueue,
+            @Value("${r2.upload.part-size:5MB}") DataSize partSize,
+            @Value("${r2.batch.parallelism:4}") int batchParallelism,
+            @Value("${app.images.variants.wait-timeout-ms:15000}") long variantWaitMillis
+    ) {
+        this.r2Client = r2Client;
+        this.r2AsyncClient = r2AsyncClient;
+        this.imageVariantService = imageVariantService;
+        this.imageVariantResolver = imageVariantResolver;
+        this.storedImageRepository = storedImageRepository;
+        this.imageDeleteQueue = imageDeleteQueue;
+        this.variantWaitMillis = variantWaitMillis;
+        this.partSize = (int) Math.max(MIN_PART_SIZE, partSize.toBytes());
+        this.batchParallelism = Math.max(1, batchParallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamReaders.shutdown();
+    }
 
     @Override
     public String uploadImage(MultipartFile file, String folder) {
         validateFile(file);
 
+        String contentType = file.getContentType();
         try {
-            String fileName = generateFileName(file.getOriginalFilename(), folder);
-            String contentType = file.getContentType();
+            // Multipart files are spooled by the container, so they can be read once to hash
+            // and again only if the content is new
+            String contentHash = sha256(file);
+            String fileName = contentKey(contentHash, resolveExtension(contentType, file.getOriginalFilename()), folder);
+            if (!isStored(fileName)) {
+                try (InputStream content = file.getInputStream()) {
+                    putObject(fileName, contentType, RequestBody.fromInputStream(content, file.getSize()), file.getSize());
+                }
+            }
+            return completeUpload(fileName, contentHash, contentType);
+        } catch (IOException e) {
+            log.error("Failed to upload image: {}", e.getMessage());
+            throw new RuntimeException("Failed to upload image: " + e.getMessage());
+        }
+    }
 
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(contentType)
-                    .contentLength(file.getSize())
-                    .build();
+    /**
+     * Content up to one part is buffered and hashed before anything is sent, so a repeat upload
+     * costs no PUT at all. Larger content goes up as a multipart upload under a staging key while
+     * being hashed, then is copied to its content key unless that already exists.
+     */
+    @Override
+    public String uploadImage(InputStream content, long contentLength, String contentType, String originalFilename, String folder) {
+        String extension = resolveExtension(contentType, originalFilename);
+        if (contentLength > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+        }
 
-            r2Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+        try {
+            byte[] head = content.readNBytes(partSize);
+            int next = head.length < partSize ? -1 : content.read();
+            if (next < 0) {
+                if (head.length == 0) {
+                    throw new IllegalArgumentException("File cannot be empty");
+                }
+                String contentHash = HexFormat.of().formatHex(newDigest().digest(head));
+                String fileName = contentKey(contentHash, extension, folder);
+                if (!isStored(fileName)) {
+                    putObject(fileName, contentType, RequestBody.fromBytes(head), head.length);
+                }
+                return completeUpload(fileName, contentHash, contentType);
+            }
 
-            String imageUrl = publicUrl + "/" + fileName;
-            log.info("Image uploaded successfully: {}", imageUrl);
-            return imageUrl;
+            MessageDigest digest = newDigest();
+            InputStream remaining = new SequenceInputStream(
+                    new ByteArrayInputStream(head), new SequenceInputStream(new ByteArrayInputStream(new byte[]{(byte) next}), content));
+            String stagingKey = STAGING_PREFIX + UUID.randomUUID() + "." + extension;
+            multipartUpload(stagingKey, contentType, new DigestInputStream(remaining, digest));
 
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String fileName = contentKey(contentHash, extension, folder);
+            try {
+                if (!isStored(fileName)) {
+                    copyObject(stagingKey, fileName, contentType);
+                }
+            } finally {
+                deleteQuietly(stagingKey);
+            }
+            return completeUpload(fileName, contentHash, contentType);
         } catch (IOException e) {
             log.error("Failed to upload image: {}", e.getMessage());
             throw new RuntimeException("Failed to upload image: " + e.getMessage());
         }
     }
 
+    /**
+     * Processes up to {@code r2.batch.parallelism} files at once, from validation and hashing through
+     * the PUT on the async client, so a batch takes roughly as long as its slowest file rather than
+     * the sum of all of them.
+     */
     @Override
-    public List<String> uploadImages(List<MultipartFile> files, String folder) {
-        List<String> imageUrls = new ArrayList<>();
+    public List<ImageUploadResult> uploadImages(List<MultipartFile> files, String folder) {
+        Semaphore permits = new Semaphore(batchParallelism);
+        List<CompletableFuture<ImageUploadResult>> uploads = new ArrayList<>(files.size());
         for (MultipartFile file : files) {
-            try {
-                String url = uploadImage(file, folder);
-                imageUrls.add(url);
-            } catch (Exception e) {
-                log.error("Failed to upload image {}: {}", file.getOriginalFilename(), e.getMessage());
-            }
+            uploads.add(uploadAsync(file, folder, permits));
+        }
+        return uploads.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    @Transactional
+    public void retainImage(String imageUrl) {
+        String fileName = imageVariantResolver.toObjectKey(imageUrl);
+        if (fileName != null) {
+            imageDeleteQueue.cancel(fileName);
+            storedImageRepository.incrementRefCount(fileName);
         }
-        return imageUrls;
+    }
+
+    @Override
+    @Transactional
+    public boolean releaseImage(String imageUrl) {
+        String fileName = imageVariantResolver.toObjectKey(imageUrl);
+        if (fileName == null || storedImageRepository.decrementRefCount(fileName) == 0) {
+            return false;
+        }
+        if (storedImageRepository.findRefCount(fileName).orElse(0) > 0) {
+            log.debug("Image {} is still used by other menu items", imageUrl);
+            return false;
+        }
+        StoredImage image = storedImageRepository.findByObjectKey(fileName).orElseThrow();
+        List<String> keys = new ArrayList<>();
+        keys.add(fileName);
+        image.getVariantNames().forEach(name -> keys.add(ImageVariantResolver.variantKey(fileName, name)));
+        if (!imageDeleteQueue.enqueue(fileName, keys)) {
+            return false;
+        }
+        log.info("Image queued for deletion: {}", imageUrl);
+        return true;
     }
 
     @Override
     public boolean deleteImage(String imageUrl) {
+        ImageDeleteResult result = deleteImages(List.of(imageUrl)).get(0);
+        if (result.isDeleted()) {
+            log.info("Image deleted successfully: {}", imageUrl);
+        } else {
+            log.error("Failed to delete image {}: {}", imageUrl, result.getError());
+        }
+        return result.isDeleted();
+    }
+
+    @Override
+    public List<ImageDeleteResult> deleteImages(List<String> imageUrls) {
+        List<String> requested = new ArrayList<>(new LinkedHashSet<>(imageUrls.stream().map(this::extractFileNameFromUrl).toList()));
+        Map<String, StoredImage> storedImages = storedImageRepository.findByObjectKeyIn(requested).stream()
+                .collect(Collectors.toMap(StoredImage::getObjectKey, Function.identity()));
+
+        // Images a menu item still points at are refused rather than broken
+        Map<String, String> errors = new HashMap<>();
+        List<String> keys = new ArrayList<>(requested.size());
+        for (String key : requested) {
+            StoredImage image = storedImages.get(key);
+            if (image != null && image.getRefCount() > 0) {
+                errors.put(key, "Image is still used by " + image.getRefCount() + " menu item(s)");
+            } else {
+                keys.add(key);
+            }
+        }
+        errors.putAll(deleteStoredObjects(keys, storedImages));
+
+        List<ImageDeleteResult> results = new ArrayList<>(imageUrls.size());
+        int deleted = 0;
+        for (String imageUrl : imageUrls) {
+            String error = errors.get(extractFileNameFromUrl(imageUrl));
+            results.add(new ImageDeleteResult(imageUrl, error == null, error));
+            if (error == null) {
+                deleted++;
+            }
+        }
+        log.info("Batch delete finished: {} of {} images deleted", deleted, imageUrls.size());
+        return results;
+    }
+
+    /**
+     * Delete originals together with their variants and stored_images rows.
+     * @return error message per original key that could not be deleted
+     */
+    private Map<String, String> deleteStoredObjects(List<String> originals, Map<String, StoredImage> storedImages) {
+        List<String> keys = new ArrayList<>(originals);
+        for (String original : originals) {
+            StoredImage image = storedImages.get(original);
+            if (image != null) {
+                image.getVariantNames().forEach(name -> keys.add(ImageVariantResolver.variantKey(original, name)));
+            }
+        }
+
+        // Error message per key; keys missing from the map were deleted
+        Map<String, String> errors = new HashMap<>();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + MAX_DELETE_BATCH));
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(batch.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .quiet(true)
+                            .build())
+                    .build();
+            batches.add(r2AsyncClient.deleteObjects(request).handle((response, error) -> {
+                synchronized (errors) {
+                    recordDeleteErrors(batch, response, error, errors);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+
+        List<Long> deletedRows = new ArrayList<>();
+        Map<String, String> originalErrors = new HashMap<>();
+        for (String original : originals) {
+            StoredImage image = storedImages.get(original);
+            if (errors.containsKey(original)) {
+                originalErrors.put(original, errors.get(original));
+            } else if (image != null) {
+                deletedRows.add(image.getId());
+            }
+        }
+        if (!deletedRows.isEmpty()) {
+            storedImageRepository.deleteAllByIdInBatch(deletedRows);
+        }
+        if (errors.size() > originalErrors.size()) {
+            log.warn("{} image variants could not be deleted", errors.size() - originalErrors.size());
+        }
+        return originalErrors;
+    }
+
+    private CompletableFuture<ImageUploadResult> uploadAsync(MultipartFile file, String folder, Semaphore permits) {
+        // Validation and hashing read the whole file, so they run on the bounded tasks rather than the request thread
+        return CompletableFuture.supplyAsync(() -> startUpload(file, folder, permits), streamReaders)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Holds one of the batch's permits from validation until the PUT completes; every path that
+     * does not hand the permit to the PUT releases it here.
+     */
+    private CompletableFuture<ImageUploadResult> startUpload(MultipartFile file, String folder, Semaphore permits) {
+        String originalFilename = file.getOriginalFilename();
+        String contentType = file.getContentType();
         try {
-            String fileName = extractFileNameFromUrl(imageUrl);
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(ImageUploadResult.failed(originalFilename, "Upload interrupted"));
+        }
 
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+        InputStream content = null;
+        boolean uploading = false;
+        try {
+            validateFile(file);
+            String contentHash = sha256(file);
+            String fileName = contentKey(contentHash, resolveExtension(contentType, originalFilename), folder);
+            if (isStored(fileName)) {
+                return awaitVariants(fileName, contentHash, contentType)
+                        .thenApply(variants -> ImageUploadResult.succeeded(originalFilename, publicUrl + "/" + fileName, variants));
+            }
+            content = file.getInputStream();
+
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileName)
+                    .contentType(contentType)
+                    .cacheControl(ImageVariantResolver.IMMUTABLE_CACHE_CONTROL)
+                    .contentLength(file.getSize())
                     .build();
+            InputStream body = content;
+            CompletableFuture<?> put = r2AsyncClient.putObject(putObjectRequest,
+                    AsyncRequestBody.fromInputStream(body, file.getSize(), streamReaders));
+            uploading = true;
+            return put
+                    .handle((response, error) -> {
+                        permits.release();
+                        closeQuietly(body);
+                        return error;
+                    })
+                    // Registering the upload queries the database, which must stay off the SDK's threads
+                    .thenComposeAsync(error -> {
+                        if (error != null) {
+                            String message = rootCause(error).getMessage();
+                            log.error("Failed to upload image {}: {}", originalFilename, message);
+                            return CompletableFuture.completedFuture(ImageUploadResult.failed(originalFilename, message));
+                        }
+                        String imageUrl = publicUrl + "/" + fileName;
+                        log.info("Image uploaded successfully: {}", imageUrl);
+                        return awaitVariants(fileName, contentHash, contentType)
+                                .thenApply(variants -> ImageUploadResult.succeeded(originalFilename, imageUrl, variants));
+                    }, streamReaders);
+        } catch (IOException | RuntimeException e) {
+            // Includes putObject throwing before it returns a future
+            log.error("Failed to upload image {}: {}", originalFilename, e.getMessage());
+            return CompletableFuture.completedFuture(ImageUploadResult.failed(originalFilename, e.getMessage()));
+        } finally {
+            if (!uploading) {
+                permits.release();
+                if (content != null) {
+                    closeQuietly(content);
+                }
+            }
+        }
+    }
 
-            r2Client.deleteObject(deleteObjectRequest);
-            log.info("Image deleted successfully: {}", imageUrl);
-            return true;
+    /**
+     * Object already uploaded under this content key. stored_images is written after every
+     * successful upload, so it doubles as the index of what the bucket holds.
+     * Deletes still queued for the key are cancelled first (waiting for a worker mid-delete),
+     * so an object found here is not removed afterwards; a queued delete has already removed
+     * the row, so its object is written again.
+     */
+    private boolean isStored(String fileName) {
+        imageDeleteQueue.cancel(fileName);
+        boolean stored = storedImageRepository.existsByObjectKey(fileName);
+        if (stored) {
+            log.info("Image already stored, skipping upload: {}", fileName);
+        }
+        return stored;
+    }
 
+    private String completeUpload(String fileName, String contentHash, String contentType) {
+        String imageUrl = publicUrl + "/" + fileName;
+        log.info("Image uploaded successfully: {}", imageUrl);
+        awaitVariants(fileName, contentHash, contentType).join();
+        return imageUrl;
+    }
+
+    /**
+     * Register the object and wait a bounded time for its variants. A repeat upload reuses
+     * the variants generated the first time.
+     */
+    private CompletableFuture<List<ImageVariantResponse>> awaitVariants(String fileName, String contentHash, String contentType) {
+        storedImageRepository.insertIfAbsent(fileName, contentType, contentHash);
+        List<ImageVariantResponse> existing = storedImageRepository.findByObjectKey(fileName)
+                .map(imageVariantResolver::toResponses)
+                .orElse(List.of());
+        if (!existing.isEmpty()) {
+            return CompletableFuture.completedFuture(existing);
+        }
+        return imageVariantService.generateVariants(fileName, contentType)
+                .completeOnTimeout(List.of(), variantWaitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void putObject(String key, String contentType, RequestBody body, long contentLength) {
+        r2Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .cacheControl(ImageVariantResolver.IMMUTABLE_CACHE_CONTROL)
+                        .contentLength(contentLength)
+                        .build(),
+                body);
+    }
+
+    private void copyObject(String sourceKey, String destinationKey, String contentType) {
+        r2Client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucketName)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucketName)
+                .destinationKey(destinationKey)
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(contentType)
+                .cacheControl(ImageVariantResolver.IMMUTABLE_CACHE_CONTROL)
+                .build());
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            r2Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
         } catch (Exception e) {
-            log.error("Failed to delete image {}: {}", imageUrl, e.getMessage());
-            return false;
+            log.warn("Failed to delete staging object {}: {}", key, e.getMessage());
         }
     }
 
-    @Override
-    public boolean deleteImages(List<String> imageUrls) {
-        boolean allDeleted = true;
-        for (String imageUrl : imageUrls) {
-            if (!deleteImage(imageUrl)) {
-                allDeleted = false;
+    private static void recordDeleteErrors(List<String> batch, DeleteObjectsResponse response, Throwable error,
+                                           Map<String, String> errors) {
+        if (error != null) {
+            String message = rootCause(error).getMessage();
+            batch.forEach(key -> errors.put(key, message));
+            return;
+        }
+        response.errors().forEach(e -> errors.put(e.key(), e.code() + ": " + e.message()));
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException e) {
+            log.debug("Failed to close upload stream: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Upload in parts of {@code partSize}, reusing one buffer, so memory stays bounded
+     * whatever the content length. The upload is aborted if anything fails.
+     */
+    private void multipartUpload(String key, String contentType, InputStream content) throws IOException {
+        String uploadId = r2Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            byte[] buffer = new byte[partSize];
+            List<CompletedPart> parts = new ArrayList<>();
+            long total = 0;
+            int length;
+            while ((length = content.readNBytes(buffer, 0, partSize)) > 0) {
+                total += length;
+                if (total > MAX_FILE_SIZE) {
+                    throw new IllegalArgumentException("File size exceeds maximum limit of 10MB");
+                }
+                int partNumber = parts.size() + 1;
+                int partLength = length;
+                String eTag = r2Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) partLength)
+                                .build(),
+                        RequestBody.fromContentProvider(
+                                () -> new ByteArrayInputStream(buffer, 0, partLength), partLength, contentType)
+                ).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
             }
+            if (parts.isEmpty()) {
+                throw new IllegalArgumentException("File cannot be empty");
+            }
+
+            r2Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            log.debug("Multipart upload of {} completed: {} parts, {} bytes", key, parts.size(), total);
+        } catch (IOException | RuntimeException e) {
+            abortQuietly(key, uploadId);
+            throw e;
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            r2Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
         }
-        return allDeleted;
     }
 
     private void validateFile(MultipartFile file) {
@@ -126,15 +592,48 @@ public class ImageStorageServiceImpl implements ImageStorageService {
         }
     }
 
-    private String generateFileName(String originalFilename, String folder) {
-        String extension = getFileExtension(originalFilename);
-        String uniqueId = UUID.randomUUID().toString();
-        String timestamp = String.valueOf(System.currentTimeMillis());
+    /**
+     * Extension from the file name if it has an allowed one, otherwise from the content type.
+     */
+    private String resolveExtension(String contentType, String originalFilename) {
+        if (originalFilename != null) {
+            String extension = getFileExtension(originalFilename).toLowerCase();
+            if (ALLOWED_EXTENSIONS.contains(extension)) {
+                return extension;
+            }
+        }
+        String extension = contentType != null ? EXTENSIONS_BY_CONTENT_TYPE.get(contentType.toLowerCase()) : null;
+        if (extension == null) {
+            throw new IllegalArgumentException("File type not allowed. Allowed types: " + ALLOWED_EXTENSIONS);
+        }
+        return extension;
+    }
 
+    /**
+     * Key derived from the content, so identical files map to one object: menu-items/<sha-256>.jpg
+     */
+    private String contentKey(String contentHash, String extension, String folder) {
+        String normalized = "jpeg".equals(extension) ? "jpg" : extension;
         if (folder != null && !folder.isEmpty()) {
-            return folder + "/" + timestamp + "_" + uniqueId + "." + extension;
+            return folder + "/" + contentHash + "." + normalized;
+        }
+        return contentHash + "." + normalized;
+    }
+
+    private static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream content = new DigestInputStream(file.getInputStream(), digest)) {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return timestamp + "_" + uniqueId + "." + extension;
     }
 
     private String getFileExtension(String filename) {
@@ -0,0 +1,104 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
+import com.rakeshgupta.cafebrew_backend.customer.entity.StoredImage;
+import com.rakeshgupta.cafebrew_backend.customer.repository.StoredImageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps public image URLs to the URLs of their resized variants.
+ * Reads only the stored_images table, so it works without the R2 client being initialised.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageVariantResolver {
+
+    /**
+     * Originals are keyed by content hash and variants by original plus size, so an object
+     * never changes once written and may be cached forever.
+     */
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final StoredImageRepository storedImageRepository;
+
+    @Value("${r2.public.url:}")
+    private String publicUrl;
+
+    /**
+     * Object key for a URL served from our bucket, or null for external URLs.
+     */
+    public String toObjectKey(String imageUrl) {
+        String prefix = publicUrl + "/";
+        if (imageUrl == null || publicUrl.isEmpty() || !imageUrl.startsWith(prefix)) {
+            return null;
+        }
+        return imageUrl.substring(prefix.length());
+    }
+
+    public boolean hasPublicUrl() {
+        return !publicUrl.isBlank();
+    }
+
+    public String toUrl(String objectKey) {
+        return publicUrl + "/" + objectKey;
+    }
+
+    /**
+     * Key of a variant, stored next to the original: menu-items/abc.jpg + 320w.webp -> menu-items/abc_320w.webp
+     */
+    public static String variantKey(String objectKey, String variantName) {
+        int dot = objectKey.lastIndexOf('.');
+        int slash = objectKey.lastIndexOf('/');
+        String base = dot > slash ? objectKey.substring(0, dot) : objectKey;
+        return base + "_" + variantName;
+    }
+
+    /**
+     * Variants of each image URL that has any, keyed by URL, in one query.
+     */
+    public Map<String, List<ImageVariantResponse>> resolve(Collection<String> imageUrls) {
+        Map<String, String> urlByKey = new HashMap<>();
+        for (String imageUrl : imageUrls) {
+            String key = toObjectKey(imageUrl);
+            if (key != null) {
+                urlByKey.put(key, imageUrl);
+            }
+        }
+        if (urlByKey.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<ImageVariantResponse>> variantsByUrl = new HashMap<>();
+        for (StoredImage image : storedImageRepository.findByObjectKeyIn(urlByKey.keySet())) {
+            List<ImageVariantResponse> variants = toResponses(image);
+            if (!variants.isEmpty()) {
+                variantsByUrl.put(urlByKey.get(image.getObjectKey()), variants);
+            }
+        }
+        return variantsByUrl;
+    }
+
+    public List<ImageVariantResponse> toResponses(StoredImage image) {
+        List<ImageVariantResponse> variants = new ArrayList<>();
+        for (String name : image.getVariantNames()) {
+            // Names look like 320w.webp
+            int w = name.indexOf("w.");
+            if (w <= 0) {
+                continue;
+            }
+            variants.add(new ImageVariantResponse(
+                    Integer.parseInt(name.substring(0, w)),
+                    name.substring(w + 2),
+                    toUrl(variantKey(image.getObjectKey(), name))));
+        }
+        return variants;
+    }
+}
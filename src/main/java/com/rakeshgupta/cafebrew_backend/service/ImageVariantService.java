@@ -0,0 +1,284 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.ImageVariantResponse;
+import com.rakeshgupta.cafebrew_backend.customer.entity.StoredImage;
+import com.rakeshgupta.cafebrew_backend.customer.repository.StoredImageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates resized variants of uploaded images and stores them next to the original.
+ * For every configured width smaller than the original it writes a JPEG (PNG when the image
+ * has transparency) and, when a WebP encoder is available, a WebP. A full-width WebP is added too.
+ * Decoding a large photo takes tens of MB of heap, so work runs on a small fixed pool with a
+ * bounded queue; when the queue is full the upload still succeeds, just without variants.
+ */
+@Service
+@Lazy
+@Slf4j
+public class ImageVariantService {
+
+    // Refuse to decode anything larger than 40 megapixels (decompression bombs)
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final S3Client r2Client;
+    private final StoredImageRepository storedImageRepository;
+    private final ImageVariantResolver imageVariantResolver;
+    private final ThreadPoolExecutor workers;
+    private final List<Integer> widths;
+    private final float quality;
+    private final boolean webpAvailable;
+
+    @Value("${r2.bucket.name}")
+    private String bucketName;
+
+    public ImageVariantService(
+            S3Client r2Client,
+            StoredImageRepository storedImageRepository,
+            ImageVariantResolver imageVariantResolver,
+            @Value("${app.images.variants.widths:320,640}") List<Integer> widths,
+            @Value("${app.images.variants.quality:0.82}") float quality,
+            @Value("${app.images.variants.pool-size:2}") int poolSize,
+            @Value("${app.images.variants.queue-capacity:32}") int queueCapacity
+    ) {
+        this.r2Client = r2Client;
+        this.storedImageRepository = storedImageRepository;
+        this.imageVariantResolver = imageVariantResolver;
+        this.widths = widths.stream().sorted().toList();
+        this.quality = quality;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // Register ImageIO plugins visible to the application class loader (the WebP writer among them)
+        ImageIO.scanForPlugins();
+        this.webpAvailable = probeWebp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Generate and store variants of an uploaded original on the worker pool.
+     * Completes with an empty list when the pool is saturated or the image cannot be processed.
+     */
+    public CompletableFuture<List<ImageVariantResponse>> generateVariants(String objectKey, String contentType) {
+        try {
+            return CompletableFuture.supplyAsync(() -> generate(objectKey, contentType), workers)
+                    .exceptionally(e -> {
+                        log.warn("Failed to generate variants for {}: {}", objectKey, e.getMessage());
+                        return List.of();
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue is full, storing {} without variants", objectKey);
+            return CompletableFuture.completedFuture(List.of());
+        }
+    }
+
+    private List<ImageVariantResponse> generate(String objectKey, String contentType) {
+        byte[] original = r2Client.getObjectAsBytes(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .build()).asByteArray();
+
+        BufferedImage image;
+        try {
+            image = decode(original);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable image: " + e.getMessage(), e);
+        }
+
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        String fallbackFormat = hasAlpha ? "png" : "jpg";
+        List<String> variantNames = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= image.getWidth()) {
+                break;
+            }
+            BufferedImage resized = resize(image, width, hasAlpha);
+            store(objectKey, width + "w." + fallbackFormat, resized, variantNames);
+            if (webpAvailable) {
+                store(objectKey, width + "w.webp", resized, variantNames);
+            }
+        }
+        if (webpAvailable) {
+            store(objectKey, image.getWidth() + "w.webp", image, variantNames);
+        }
+
+        // Column update rather than save(), so references taken meanwhile are not overwritten
+        StoredImage storedImage = new StoredImage(objectKey, contentType);
+        storedImage.setVariantNames(variantNames);
+        storedImageRepository.insertIfAbsent(objectKey, contentType, null);
+        storedImageRepository.updateVariants(objectKey, image.getWidth(), image.getHeight(), storedImage.getVariants());
+
+        log.info("Generated {} variants for {}", variantNames.size(), objectKey);
+        return imageVariantResolver.toResponses(storedImage);
+    }
+
+    private void store(String objectKey, String variantName, BufferedImage image, List<String> variantNames) {
+        String format = variantName.substring(variantName.indexOf('.') + 1);
+        byte[] encoded;
+        try {
+            encoded = encode(image, format);
+        } catch (IOException e) {
+            log.warn("Failed to encode {} variant of {}: {}", variantName, objectKey, e.getMessage());
+            return;
+        }
+        r2Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(ImageVariantResolver.variantKey(objectKey, variantName))
+                        .contentType(mimeType(format))
+                        .cacheControl(ImageVariantResolver.IMMUTABLE_CACHE_CONTROL)
+                        .contentLength((long) encoded.length)
+                        .build(),
+                RequestBody.fromBytes(encoded));
+        variantNames.add(variantName);
+    }
+
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("no reader for image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Check dimensions from the header before allocating pixels
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IOException("image has " + pixels + " pixels, limit is " + MAX_PIXELS);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale in halving steps, then once more to the exact width, which keeps bilinear
+     * filtering sharp without the cost of area averaging.
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth, boolean hasAlpha) {
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+        int type = hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(mimeType(format));
+        if (!writers.hasNext()) {
+            throw new IOException("no writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        BufferedImage source = image;
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if ("jpg".equals(format) || "webp".equals(format)) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if ("webp".equals(format)) {
+                param.setCompressionType(lossyType(param));
+            }
+            param.setCompressionQuality(quality);
+        }
+        if ("jpg".equals(format) && image.getType() != BufferedImage.TYPE_INT_RGB) {
+            // The JPEG writer cannot handle alpha or indexed colour
+            source = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = source.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(source, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String lossyType(ImageWriteParam param) {
+        String[] types = param.getCompressionTypes();
+        return Arrays.stream(types).filter(t -> t.equalsIgnoreCase("lossy")).findFirst().orElse(types[0]);
+    }
+
+    private static String mimeType(String format) {
+        return switch (format) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "webp" -> "image/webp";
+            default -> "application/octet-stream";
+        };
+    }
+
+    /**
+     * The WebP writer relies on a bundled native library, which is missing on some platforms (e.g. musl).
+     */
+    private boolean probeWebp() {
+        try {
+            encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "webp");
+            return true;
+        } catch (IOException | RuntimeException | LinkageError e) {
+            log.warn("WebP encoder unavailable, image variants will be JPEG/PNG only: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.entity.StoredImage;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import com.rakeshgupta.cafebrew_backend.customer.repository.StoredImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically lists the image folders in R2 and queues objects no menu item references,
+ * such as uploads that were never attached to an item or leftovers of failed deletes and
+ * interrupted staging uploads.
+ * Objects younger than {@code app.images.reconcile.min-age-hours} are skipped, so an image
+ * uploaded for a menu item that is still being created is never touched.
+ * Orphans are only reported unless {@code app.images.reconcile.delete-orphans} is on, and a run
+ * is aborted when r2.public.url is unset or any menu item's image URL does not map to an object
+ * key (e.g. after moving the bucket to another domain), since every image would look orphaned.
+ */
+@Component
+@Slf4j
+public class OrphanImageReconciler {
+
+    private final S3Client r2Client;
+    private final StoredImageRepository storedImageRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final ImageVariantResolver imageVariantResolver;
+    private final ImageDeleteQueue imageDeleteQueue;
+    private final List<String> prefixes;
+    private final Duration minAge;
+    private final boolean deleteOrphans;
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    @Value("${r2.bucket.name:}")
+    private String bucketName;
+
+    public OrphanImageReconciler(
+            @Lazy S3Client r2Client,
+            StoredImageRepository storedImageRepository,
+            MenuItemRepository menuItemRepository,
+            ImageVariantResolver imageVariantResolver,
+            ImageDeleteQueue imageDeleteQueue,
+            @Value("${app.images.reconcile.prefixes:menu-items/,staging/}") List<String> prefixes,
+            @Value("${app.images.reconcile.min-age-hours:24}") long minAgeHours,
+            @Value("${app.images.reconcile.delete-orphans:false}") boolean deleteOrphans
+    ) {
+        this.r2Client = r2Client;
+        this.storedImageRepository = storedImageRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.imageVariantResolver = imageVariantResolver;
+        this.imageDeleteQueue = imageDeleteQueue;
+        this.prefixes = prefixes;
+        this.minAge = Duration.ofHours(minAgeHours);
+        this.deleteOrphans = deleteOrphans;
+    }
+
+    @Scheduled(initialDelayString = "${app.images.reconcile.initial-delay-ms:600000}",
+            fixedDelayString = "${app.images.reconcile.interval-ms:86400000}")
+    public void scheduledReconcile() {
+        if (bucketName.isEmpty()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Orphaned image reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scan the bucket once and queue orphaned objects for deletion (or only report them
+     * when {@code app.images.reconcile.delete-orphans} is false).
+     */
+    public synchronized Map<String, Object> reconcile() {
+        Instant cutoff = Instant.now().minus(minAge);
+
+        // Originals in use: referenced by a menu item, or counted as referenced
+        Set<String> usedOriginals = new HashSet<>();
+        List<String> unmappedUrls = new ArrayList<>();
+        for (String imageUrl : menuItemRepository.findDistinctImageUrls()) {
+            if (imageUrl.isBlank()) {
+                continue;
+            }
+            String objectKey = imageVariantResolver.toObjectKey(imageUrl);
+            if (objectKey != null) {
+                usedOriginals.add(objectKey);
+            } else {
+                unmappedUrls.add(imageUrl);
+            }
+        }
+        if (!imageVariantResolver.hasPublicUrl() || !unmappedUrls.isEmpty()) {
+            String reason = !imageVariantResolver.hasPublicUrl()
+                    ? "r2.public.url is not set"
+                    : unmappedUrls.size() + " menu item image URL(s) do not match r2.public.url, e.g. " + unmappedUrls.get(0);
+            log.error("Orphaned image reconciliation aborted: {}", reason);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("aborted", reason);
+            result.put("finishedAt", LocalDateTime.now());
+            lastRun = result;
+            return result;
+        }
+        Map<String, String> originalByVariant = new HashMap<>();
+        Map<String, List<String>> variantsByOriginal = new HashMap<>();
+        for (StoredImage image : storedImageRepository.findAll()) {
+            if (image.getRefCount() > 0) {
+                usedOriginals.add(image.getObjectKey());
+            }
+            List<String> variantKeys = new ArrayList<>();
+            for (String name : image.getVariantNames()) {
+                String variantKey = ImageVariantResolver.variantKey(image.getObjectKey(), name);
+                originalByVariant.put(variantKey, image.getObjectKey());
+                variantKeys.add(variantKey);
+            }
+            variantsByOriginal.put(image.getObjectKey(), variantKeys);
+        }
+
+        // Orphaned objects grouped by the original they belong to
+        Map<String, List<String>> orphans = new LinkedHashMap<>();
+        int scanned = 0;
+        for (String prefix : prefixes) {
+            ListObjectsV2Request request = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .build();
+            scanned += collectOrphans(r2Client.listObjectsV2Paginator(request).contents(),
+                    usedOriginals, originalByVariant, cutoff, orphans);
+        }
+
+        int orphanObjects = orphans.values().stream().mapToInt(List::size).sum();
+        int queued = 0;
+        if (deleteOrphans) {
+            for (Map.Entry<String, List<String>> entry : orphans.entrySet()) {
+                // Variants missing from the listing (e.g. under another prefix) go too
+                Set<String> keys = new HashSet<>(entry.getValue());
+                keys.addAll(variantsByOriginal.getOrDefault(entry.getKey(), List.of()));
+                if (imageDeleteQueue.enqueue(entry.getKey(), keys)) {
+                    queued += keys.size();
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scannedObjects", scanned);
+        result.put("orphanedObjects", orphanObjects);
+        result.put("queuedForDeletion", queued);
+        result.put("deleteOrphans", deleteOrphans);
+        result.put("finishedAt", LocalDateTime.now());
+        lastRun = result;
+        log.info("Orphaned image reconciliation: {} objects scanned, {} orphaned, {} queued for deletion",
+                scanned, orphanObjects, queued);
+        return result;
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Adds the listed objects that belong to no used original and are older than the cutoff to
+     * {@code orphans}, grouped by original (a variant maps to its original, anything else to itself).
+     *
+     * @return the number of objects listed
+     */
+    static int collectOrphans(Iterable<S3Object> objects, Set<String> usedOriginals,
+                              Map<String, String> originalByVariant, Instant cutoff,
+                              Map<String, List<String>> orphans) {
+        int scanned = 0;
+        for (S3Object object : objects) {
+            scanned++;
+            String original = originalByVariant.getOrDefault(object.key(), object.key());
+            if (usedOriginals.contains(original) || object.lastModified().isAfter(cutoff)) {
+                continue;
+            }
+            orphans.computeIfAbsent(original, key -> new ArrayList<>()).add(object.key());
+        }
+        return scanned;
+    }
+}
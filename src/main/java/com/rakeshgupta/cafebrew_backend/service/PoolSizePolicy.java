@@ -0,0 +1,82 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+/**
+ * The resize decision behind {@link ConnectionPoolTuner}, free of Hikari and Micrometer.
+ * Carries the state kept between tuning windows: the connection-usage baseline (an exponentially
+ * weighted mean over windows without waits) and the run of underused windows.
+ */
+final class PoolSizePolicy {
+
+    static final int SHRINK_AFTER_QUIET_WINDOWS = 4;
+    static final double DATABASE_SLOWDOWN_RATIO = 1.5;
+    static final double BASELINE_WEIGHT = 0.2;
+
+    record Decision(int target, String reason) {
+    }
+
+    private final int minSize;
+    private final int maxSize;
+    private final double growWaitMillis;
+
+    private double baselineUsageMillis = Double.NaN;
+    private int quietWindows;
+
+    PoolSizePolicy(int minSize, int maxSize, double growWaitMillis) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.growWaitMillis = growWaitMillis;
+    }
+
+    /**
+     * Decide the pool size for the next window.
+     * @param current the current maximum pool size
+     * @param peakDemand the highest active connections plus waiting threads seen in the window
+     * @param waitMillis mean connection acquire time in the window, NaN if nothing was acquired
+     * @param usageMillis mean time a connection was held in the window, NaN if none was returned
+     */
+    Decision decide(int current, int peakDemand, double waitMillis, double usageMillis) {
+        boolean waited = peakDemand > current && waitMillis >= growWaitMillis;
+        boolean databaseSlowing = !Double.isNaN(baselineUsageMillis) && !Double.isNaN(usageMillis)
+                && usageMillis > baselineUsageMillis * DATABASE_SLOWDOWN_RATIO;
+
+        int target = Math.min(maxSize, Math.max(minSize, current));
+        String reason = "steady";
+        if (waited && databaseSlowing) {
+            reason = "waiting, but database latency is up; holding";
+        } else if (waited) {
+            target = Math.min(maxSize, current + Math.max(1, current / 4));
+            reason = "connection waits";
+        } else if (peakDemand * 2 <= current && ++quietWindows >= SHRINK_AFTER_QUIET_WINDOWS) {
+            target = Math.max(minSize, current - 1);
+            reason = "underused";
+        }
+        if (waited || peakDemand * 2 > current || target != current) {
+            quietWindows = 0;
+        }
+        if (!waited && !Double.isNaN(usageMillis)) {
+            baselineUsageMillis = Double.isNaN(baselineUsageMillis)
+                    ? usageMillis
+                    : baselineUsageMillis + BASELINE_WEIGHT * (usageMillis - baselineUsageMillis);
+        }
+        return new Decision(target, reason);
+    }
+
+    /**
+     * The same policy with both bounds lowered to at most {@code limit}; the state starts over.
+     */
+    PoolSizePolicy capped(int limit) {
+        return new PoolSizePolicy(Math.min(minSize, limit), Math.min(maxSize, limit), growWaitMillis);
+    }
+
+    int minSize() {
+        return minSize;
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    double baselineUsageMillis() {
+        return baselineUsageMillis;
+    }
+}
@@ -0,0 +1,157 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.admin.service.AdminOrderService;
+import com.rakeshgupta.cafebrew_backend.config.JwtTokenProvider;
+import com.rakeshgupta.cafebrew_backend.customer.dto.request.PlaceOrderRequest;
+import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import com.rakeshgupta.cafebrew_backend.customer.repository.OrderRepository;
+import com.rakeshgupta.cafebrew_backend.customer.service.CategoryService;
+import com.rakeshgupta.cafebrew_backend.customer.service.CustomerMenuService;
+import com.rakeshgupta.cafebrew_backend.customer.service.ExtraIngredientLookup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the hot request paths in-process so the first customer request does not pay for
+ * cold caches, unparsed queries, unbuilt Jackson serializers and interpreted bytecode.
+ * Runs once when the application is ready, before /api/health reports UP, and again every
+ * {@code app.warmup.interval-ms} to keep the catalog caches populated.
+ * Every step only reads; a failing step is logged and the rest still run.
+ */
+@Service
+@Slf4j
+public class WarmupService {
+
+    private static final String SAMPLE_ORDER = """
+            {"customerName":"Warmup","customerPhone":"9999999999","paymentMode":"COD",
+             "items":[{"menuItemId":1,"quantity":1,"extraIngredientIds":[1]}]}""";
+
+    private final CustomerMenuService customerMenuService;
+    private final CategoryService categoryService;
+    private final ExtraIngredientLookup extraIngredientLookup;
+    private final AdminOrderService adminOrderService;
+    private final MenuItemRepository menuItemRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    private volatile boolean warm;
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public WarmupService(
+            CustomerMenuService customerMenuService,
+            CategoryService categoryService,
+            ExtraIngredientLookup extraIngredientLookup,
+            AdminOrderService adminOrderService,
+            MenuItemRepository menuItemRepository,
+            OrderRepository orderRepository,
+            ObjectMapper objectMapper,
+            JwtTokenProvider jwtTokenProvider
+    ) {
+        this.customerMenuService = customerMenuService;
+        this.categoryService = categoryService;
+        this.extraIngredientLookup = extraIngredientLookup;
+        this.adminOrderService = adminOrderService;
+        this.menuItemRepository = menuItemRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    // The in-memory indexes (MenuPriceIndex, ExtraIngredientLookup, KitchenQueue) load on
+    // ApplicationReadyEvent at HIGHEST_PRECEDENCE, so they are populated before this marks warm
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onApplicationReady() {
+        warmup();
+        // Ready even if a step failed: a database outage must not keep the instance out of rotation
+        warm = true;
+    }
+
+    @Scheduled(initialDelayString = "${app.warmup.interval-ms:300000}",
+            fixedDelayString = "${app.warmup.interval-ms:300000}")
+    public void scheduledWarmup() {
+        warmup();
+    }
+
+    /**
+     * Run every warmup step once and record how long each took.
+     */
+    public synchronized Map<String, Object> warmup() {
+        long start = System.nanoTime();
+        Map<String, Object> steps = new LinkedHashMap<>();
+        int failed = 0;
+
+        failed += step(steps, "catalog", () -> {
+            List<Category> categories = categoryService.getActiveCategories();
+            customerMenuService.getAvailableMenu();
+            extraIngredientLookup.getActiveByCategoriesJson(categories.stream().map(Category::getId).toList());
+        });
+        failed += step(steps, "queries", () -> {
+            // Unknown IDs: compiles the queries and prepares the statements without loading rows
+            menuItemRepository.findByIdAndAvailableTrue(0L);
+            orderRepository.findByOrderCode("");
+            adminOrderService.getActiveOrders();
+        });
+        failed += step(steps, "json", () -> {
+            objectMapper.writeValueAsBytes(customerMenuService.getAvailableMenu());
+            objectMapper.writeValueAsBytes(objectMapper.readValue(SAMPLE_ORDER, PlaceOrderRequest.class));
+        });
+        failed += step(steps, "jwt", () -> {
+            String token = jwtTokenProvider.generateToken("warmup", "STAFF");
+            jwtTokenProvider.validateToken(token);
+            jwtTokenProvider.getRole(token);
+        });
+
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("steps", steps);
+        result.put("failedSteps", failed);
+        result.put("durationMs", totalMillis);
+        result.put("finishedAt", LocalDateTime.now());
+        lastRun = result;
+        log.info("Warmup finished in {} ms ({} failed steps): {}", totalMillis, failed, steps);
+        return result;
+    }
+
+    private int step(Map<String, Object> steps, String name, WarmupStep step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+            steps.put(name, (System.nanoTime() - start) / 1_000_000);
+            return 0;
+        } catch (Exception e) {
+            log.warn("Warmup step '{}' failed: {}", name, e.getMessage());
+            steps.put(name, "failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * True once the startup warmup has run; /api/health reports 503 until then.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
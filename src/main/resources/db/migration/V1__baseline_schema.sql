@@ -0,0 +1,94 @@
+-- Baseline schema, equivalent to what Hibernate generated with ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs against an empty schema.
+
+CREATE TABLE admin_users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE categories (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(50)  NOT NULL UNIQUE,
+    description   VARCHAR(500),
+    display_order INTEGER      NOT NULL,
+    active        BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE menu_items (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100)   NOT NULL,
+    description VARCHAR(500),
+    category    VARCHAR(255),
+    category_id BIGINT REFERENCES categories (id),
+    price       NUMERIC(10, 2) NOT NULL,
+    available   BOOLEAN        NOT NULL,
+    image_url   VARCHAR(255),
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE extra_ingredients (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100)   NOT NULL UNIQUE,
+    description VARCHAR(500),
+    price       NUMERIC(10, 2) NOT NULL,
+    active      BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE extra_ingredient_categories (
+    extra_ingredient_id BIGINT NOT NULL REFERENCES extra_ingredients (id),
+    category_id         BIGINT NOT NULL REFERENCES categories (id),
+    PRIMARY KEY (extra_ingredient_id, category_id)
+);
+
+CREATE TABLE orders (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_code     VARCHAR(255)   NOT NULL UNIQUE,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_phone VARCHAR(255)   NOT NULL,
+    table_no       VARCHAR(255),
+    status         VARCHAR(255)   NOT NULL,
+    payment_mode   VARCHAR(255)   NOT NULL,
+    payment_status VARCHAR(255)   NOT NULL,
+    total_amount   NUMERIC(10, 2) NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6),
+    version        BIGINT
+);
+
+CREATE TABLE order_items (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id       BIGINT         NOT NULL REFERENCES orders (id),
+    menu_item_id   BIGINT         NOT NULL,
+    menu_item_name VARCHAR(255)   NOT NULL,
+    price          NUMERIC(10, 2) NOT NULL,
+    quantity       INTEGER        NOT NULL,
+    total_price    NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE order_item_extras (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_item_id         BIGINT         NOT NULL REFERENCES order_items (id),
+    extra_ingredient_id   BIGINT         NOT NULL,
+    extra_ingredient_name VARCHAR(100)   NOT NULL,
+    price                 NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE payments (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id            BIGINT         NOT NULL UNIQUE REFERENCES orders (id),
+    payment_mode        VARCHAR(255)   NOT NULL,
+    payment_status      VARCHAR(255)   NOT NULL,
+    razorpay_order_id   VARCHAR(255),
+    razorpay_payment_id VARCHAR(255),
+    amount              NUMERIC(10, 2) NOT NULL,
+    created_at          TIMESTAMP(6)   NOT NULL
+);
@@ -0,0 +1,49 @@
+-- Indexes for the predicates the application filters and sorts on.
+-- IF NOT EXISTS keeps this safe on databases where some were added by hand.
+-- Built CONCURRENTLY so a deploy against a live database does not block writes to these tables;
+-- that cannot run in a transaction, hence executeInTransaction=false in V2__hot_query_indexes.sql.conf.
+-- A failed concurrent build leaves an INVALID index that IF NOT EXISTS would skip: drop it
+-- (SchemaIndexChecker reports it as missing), run flyway repair, and redeploy.
+
+-- Admin queue: findByStatusOrderByCreatedAtAsc / findByStatus(status, pageable)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created_at ON orders (status, created_at);
+
+-- Dashboard list: findAllByOrderByCreatedAtDesc / getAllOrdersPaginated
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+-- Kitchen view: only the small set of orders still in progress
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_active_created_at ON orders (created_at)
+    WHERE status IN ('NEW', 'PREPARING', 'READY');
+
+-- Webhook lookup: findByRazorpayOrderId (COD payments never set it)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_razorpay_order_id ON payments (razorpay_order_id)
+    WHERE razorpay_order_id IS NOT NULL;
+
+-- findByOrder: covered by the one-to-one unique constraint that V1 and Hibernate both create, so this
+-- plain (locking) build only runs on a database that lost it; CONCURRENTLY is not allowed in a DO block
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_index i
+        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indrelid = 'payments'::regclass
+          AND a.attname = 'order_id'
+    ) THEN
+        CREATE INDEX idx_payments_order_id ON payments (order_id);
+    END IF;
+END
+$$;
+
+-- Loading an order's items and each item's extras
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_extras_order_item_id ON order_item_extras (order_item_id);
+
+-- Deletion guard: countByExtraIngredientId / existsByExtraIngredientId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_extras_extra_ingredient_id ON order_item_extras (extra_ingredient_id);
+
+-- Menu by category: findByCategoryEntityIdAndAvailableTrue / countByCategoryEntityId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_menu_items_category_id_available ON menu_items (category_id, available);
+
+-- Extras by category: the join table primary key leads with extra_ingredient_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_extra_ingredient_categories_category_id ON extra_ingredient_categories (category_id);
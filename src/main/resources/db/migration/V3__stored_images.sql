@@ -0,0 +1,12 @@
+-- Images the application has stored in R2, with the resized variants generated for each.
+-- variants lists variant names such as 320w.jpg,320w.webp; each lives next to the original
+-- at <key without extension>_<name>.
+CREATE TABLE stored_images (
+    id           BIGSERIAL PRIMARY KEY,
+    object_key   VARCHAR(512) NOT NULL UNIQUE,
+    content_type VARCHAR(100),
+    width        INTEGER,
+    height       INTEGER,
+    variants     VARCHAR(500),
+    created_at   TIMESTAMP NOT NULL
+);
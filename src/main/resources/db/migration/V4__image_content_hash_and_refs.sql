@@ -0,0 +1,21 @@
+-- Content-addressed uploads: new objects are keyed by the SHA-256 of their bytes, and
+-- ref_count tracks how many menu items point at each image so shared objects are only
+-- deleted once nothing uses them.
+ALTER TABLE stored_images ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE stored_images ADD COLUMN ref_count INTEGER NOT NULL DEFAULT 0;
+
+-- Register images that menu items used before tracking began. Public URLs are
+-- <public host>/<object key>, so the key is everything after the host.
+INSERT INTO stored_images (object_key, created_at)
+SELECT DISTINCT regexp_replace(m.image_url, '^https?://[^/]+/', ''), now()
+FROM menu_items m
+WHERE m.image_url ~ '^https?://[^/]+/.+'
+ON CONFLICT (object_key) DO NOTHING;
+
+UPDATE stored_images s
+SET ref_count = (
+    SELECT count(*)
+    FROM menu_items m
+    WHERE m.image_url ~ '^https?://[^/]+/'
+      AND regexp_replace(m.image_url, '^https?://[^/]+/', '') = s.object_key
+);
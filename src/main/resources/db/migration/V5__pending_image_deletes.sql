@@ -0,0 +1,16 @@
+-- Durable queue of R2 objects to delete. Rows are written in the same transaction that drops
+-- the last reference to an image and drained by a background worker with retries, so a slow
+-- or failing bucket never holds up a catalog edit and no delete is lost.
+-- original_key is the image the object belongs to (itself for originals); if that image is
+-- stored or referenced again before the worker gets to it, the delete is dropped.
+CREATE TABLE pending_image_deletes (
+    id              BIGSERIAL PRIMARY KEY,
+    object_key      VARCHAR(512) NOT NULL UNIQUE,
+    original_key    VARCHAR(512) NOT NULL,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    last_error      VARCHAR(500),
+    next_attempt_at TIMESTAMP NOT NULL,
+    created_at      TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_pending_image_deletes_next_attempt_at ON pending_image_deletes (next_attempt_at);
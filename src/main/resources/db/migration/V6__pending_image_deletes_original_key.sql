@@ -0,0 +1,3 @@
+-- Uploads and re-references cancel an image's queued deletes by original_key before they
+-- decide whether the object needs to be written again.
+CREATE INDEX IF NOT EXISTS idx_pending_image_deletes_original_key ON pending_image_deletes (original_key);
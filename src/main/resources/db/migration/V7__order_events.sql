@@ -0,0 +1,16 @@
+-- Sequenced order event stream shared by all instances (broker modes postgres and relay).
+-- The single order_event_sequence row is updated in the transaction that publishes the event;
+-- its row lock is held until commit, so sequence numbers are gap-free and in commit order.
+-- order_events keeps the most recent frames for GET /api/admin/orders/events replays.
+CREATE TABLE order_event_sequence (
+    id       INTEGER PRIMARY KEY CHECK (id = 1),
+    last_seq BIGINT NOT NULL
+);
+
+INSERT INTO order_event_sequence (id, last_seq) VALUES (1, 0);
+
+CREATE TABLE order_events (
+    seq        BIGINT PRIMARY KEY,
+    frame      TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
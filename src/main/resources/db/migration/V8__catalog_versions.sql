@@ -0,0 +1,8 @@
+-- One change counter per catalog type, bumped in every transaction that edits the catalog.
+-- Instances poll it to rebuild their in-memory catalog indexes after edits made on another instance.
+CREATE TABLE catalog_versions (
+    type    VARCHAR(32) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO catalog_versions (type, version) VALUES ('MENU_ITEM', 0), ('CATEGORY', 0), ('EXTRA_INGREDIENT', 0);
@@ -0,0 +1,100 @@
+package com.rakeshgupta.cafebrew_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Boots the native executable built with {@code mvn -Pnative native:compile} and exercises the
+ * paths that depend on reflection hints: health, menu serialization and order placement.
+ * Only runs when the binary is given, e.g.
+ * {@code mvn test -Dtest=NativeSmokeTests -Dnative.binary=target/cafebrew-backend};
+ * the binary inherits the environment, so DB_URL and friends must point at a seeded database.
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class NativeSmokeTests {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private Process process;
+
+	@AfterEach
+	void stopBinary() {
+		if (process != null) {
+			process.destroy();
+		}
+	}
+
+	@Test
+	void nativeBinaryServesHealthMenuAndOrders() throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		String baseUrl = "http://localhost:" + port;
+		process = new ProcessBuilder(new File(System.getProperty("native.binary")).getAbsolutePath(),
+				"--server.port=" + port, "--management.server.port=0")
+				.inheritIO()
+				.start();
+
+		awaitHealthy(baseUrl);
+
+		HttpResponse<String> menu = get(baseUrl + "/api/menu");
+		assertEquals(200, menu.statusCode());
+		JsonNode items = objectMapper.readTree(menu.body());
+		assertTrue(items.isArray() && !items.isEmpty(), "Menu is empty; seed at least one available item");
+		long menuItemId = items.get(0).get("id").asLong();
+
+		String order = """
+				{"customerName":"Smoke Test","customerPhone":"9999999999","paymentMode":"COD",
+				 "items":[{"menuItemId":%d,"quantity":1}]}""".formatted(menuItemId);
+		HttpResponse<String> placed = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(order))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertEquals(201, placed.statusCode(), placed::body);
+		assertFalse(objectMapper.readTree(placed.body()).path("orderCode").asText().isEmpty());
+	}
+
+	private void awaitHealthy(String baseUrl) throws Exception {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				fail("Native binary exited with code " + process.exitValue());
+			}
+			try {
+				if (get(baseUrl + "/api/health").statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// Not listening yet
+			}
+			Thread.sleep(100);
+		}
+		fail("Native binary did not become healthy within " + STARTUP_TIMEOUT);
+	}
+
+	private HttpResponse<String> get(String url) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.rakeshgupta.cafebrew_backend;
+
+import com.rakeshgupta.cafebrew_backend.config.JwtTokenProvider;
+import com.rakeshgupta.cafebrew_backend.config.SqlStatsFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails the build when an endpoint runs more SQL statements than its budget, which is
+ * how N+1 patterns show up. Counts come from the X-SQL-Statements header that
+ * {@link SqlStatsFilter} adds when app.sql.stats.response-headers is on.
+ * Budgets must not depend on the amount of catalog or order data.
+ */
+class SqlStatementBudgetTests {
+
+	private static ConfigurableApplicationContext context;
+	private static int port;
+	private static String adminToken;
+
+	@BeforeAll
+	static void start() {
+		context = new SpringApplicationBuilder(CafebrewBackendApplication.class)
+				.run("--server.port=0", "--management.server.port=0", "--app.sql.stats.response-headers=true");
+		port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+		adminToken = context.getBean(JwtTokenProvider.class).generateToken("budget-test", "STAFF");
+	}
+
+	@AfterAll
+	static void stop() {
+		context.close();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"/api/menu, 2",
+			"/api/categories, 2",
+			"'/api/extra-ingredients/by-categories?ids=1,2,3', 0",
+			"/api/orders/track/UNKNOWN, 1"
+	})
+	void endpointStaysWithinStatementBudget(String path, int maxStatements) throws Exception {
+		assertWithinBudget(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)), path, maxStatements);
+	}
+
+	// Page query, count, then one batch each for the page's items and their extras
+	@ParameterizedTest
+	@CsvSource({
+			"'/api/admin/orders?paginated=true', 4",
+			"'/api/admin/orders?paginated=true&status=NEW', 4",
+			"'/api/admin/orders?query=a', 4"
+	})
+	void adminEndpointStaysWithinStatementBudget(String path, int maxStatements) throws Exception {
+		HttpResponse<String> response = assertWithinBudget(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + adminToken), path, maxStatements);
+		// A rejected token would pass the budget without running the query
+		assertTrue(response.statusCode() == 200, () -> path + " returned " + response.statusCode());
+	}
+
+	private static HttpResponse<String> assertWithinBudget(HttpRequest.Builder request, String path, int maxStatements)
+			throws Exception {
+		HttpResponse<String> response = HttpClient.newHttpClient().send(request.build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		String header = response.headers().firstValue(SqlStatsFilter.STATEMENTS_HEADER).orElse(null);
+		assertTrue(header != null, () -> "No " + SqlStatsFilter.STATEMENTS_HEADER + " header on " + path);
+		int statements = Integer.parseInt(header);
+		assertTrue(statements <= maxStatements,
+				() -> path + " ran " + statements + " SQL statements, budget is " + maxStatements);
+		return response;
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.rakeshgupta.cafebrew_backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fails when the fast-startup launch the Docker image uses (Spring AOT plus an AppCDS archive)
+ * regresses. Times each launch from process start to the first successful GET /api/health.
+ * The budget is relative: the AOT + CDS launch must take at most startup.max-ratio (0.8) of a plain
+ * launch of the same jar on the same machine, measured in the same run. Measured locally, context
+ * refresh alone takes about 0.5-0.65 of the plain time. An absolute cap can be added with
+ * -Dstartup.budget-ms=...
+ * Only runs when the fast-startup jar is given, e.g.
+ * {@code mvn -Pfast-startup package -DskipTests && mvn test -Dtest=StartupBudgetTests
+ * -Dstartup.jar=target/cafebrew-backend-0.0.1-SNAPSHOT.jar};
+ * the launches inherit the environment, so DB_URL and friends must point at a reachable database.
+ */
+@EnabledIfSystemProperty(named = "startup.jar", matches = ".+")
+class StartupBudgetTests {
+
+	private static final double DEFAULT_MAX_RATIO = 0.8;
+	private static final Duration LAUNCH_TIMEOUT = Duration.ofMinutes(2);
+
+	@TempDir
+	Path workDir;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private Process process;
+
+	@AfterEach
+	void stopApplication() {
+		if (process != null) {
+			process.destroy();
+		}
+	}
+
+	@Test
+	void aotWithClassDataSharingBeatsPlainStartup() throws Exception {
+		double maxRatio = Double.parseDouble(System.getProperty("startup.max-ratio", String.valueOf(DEFAULT_MAX_RATIO)));
+		long budgetMillis = Long.getLong("startup.budget-ms", Long.MAX_VALUE);
+
+		// Same layout as the image: CDS only archives classes loaded from plain jars on the class path
+		Path extracted = workDir.resolve("app");
+		run(List.of("-Djarmode=tools", "-jar", new File(System.getProperty("startup.jar")).getAbsolutePath(),
+				"extract", "--destination", extracted.toString()));
+		String jar = extracted.resolve(Path.of(System.getProperty("startup.jar")).getFileName()).toString();
+		String archive = workDir.resolve("app.jsa").toString();
+
+		long plainMillis = timeToFirstRequest(List.of("-jar", jar));
+		run(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off",
+				"-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh", "-jar", jar));
+		long fastMillis = timeToFirstRequest(List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+				"-Dspring.aot.enabled=true", "-jar", jar));
+
+		assertTrue(fastMillis <= plainMillis * maxRatio, () -> "AOT + CDS time to first request was " + fastMillis
+				+ " ms against " + plainMillis + " ms plain, allowed ratio is " + maxRatio);
+		assertTrue(fastMillis <= budgetMillis,
+				() -> "AOT + CDS time to first request was " + fastMillis + " ms, budget is " + budgetMillis + " ms");
+	}
+
+	private long timeToFirstRequest(List<String> jvmArgs) throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		List<String> command = new ArrayList<>(jvmArgs);
+		command.add("--server.port=" + port);
+		command.add("--management.server.port=0");
+
+		long start = System.nanoTime();
+		process = start(command);
+		awaitHealthy("http://localhost:" + port + "/api/health");
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		process.destroy();
+		process.waitFor(30, TimeUnit.SECONDS);
+		process = null;
+		return elapsedMillis;
+	}
+
+	private void run(List<String> args) throws Exception {
+		process = start(args);
+		if (!process.waitFor(LAUNCH_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+			fail("java " + String.join(" ", args) + " did not finish within " + LAUNCH_TIMEOUT);
+		}
+		assertEquals(0, process.exitValue(), () -> "java " + String.join(" ", args) + " failed");
+		process = null;
+	}
+
+	private Process start(List<String> args) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(args);
+		return new ProcessBuilder(command)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start();
+	}
+
+	private void awaitHealthy(String healthUrl) throws Exception {
+		long deadline = System.nanoTime() + LAUNCH_TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				fail("Application exited with code " + process.exitValue());
+			}
+			try {
+				HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(healthUrl)).build(),
+						HttpResponse.BodyHandlers.ofString());
+				if (response.statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// Not listening yet
+			}
+			Thread.sleep(50);
+		}
+		fail("Application did not become healthy within " + LAUNCH_TIMEOUT);
+	}
+
+}
@@ -0,0 +1,211 @@
+package com.rakeshgupta.cafebrew_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.admin.dto.response.OrderEventResponse;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderEventType;
+import com.rakeshgupta.cafebrew_backend.common.enums.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the SockJS endpoint (/ws) with the native one (/ws-native): connection setup time up to
+ * the STOMP CONNECTED frame, round-trip time of an order event frame published by the client to a
+ * /topic destination, and bytes received per frame. Boots only the WebSocket stack (WebSocketConfig
+ * on embedded Tomcat with the simple broker), so no database is needed. Clients and server share the
+ * loopback interface, so the numbers isolate protocol overhead, not network latency.
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.rakeshgupta.cafebrew_backend.config.WebSocketTransportBenchmark
+ * </pre>
+ */
+public class WebSocketTransportBenchmark {
+
+	private static final int ROUNDS = 3;
+	private static final int WARMUP = 200;
+	private static final int CONNECTS = 300;
+	private static final int MESSAGES = 5000;
+	private static final String TOPIC = "/topic/benchmark";
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+			WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+			WebSocketServletAutoConfiguration.class})
+	@Import({WebSocketConfig.class, WebSocketSessionMonitor.class})
+	static class Server {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Server.class)
+				.properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=warn")
+				.run()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			String payload = statusChangedFrame(context.getBean(ObjectMapper.class));
+
+			System.out.printf("Order event payload: %d bytes%n", payload.length());
+			System.out.printf("%-10s %14s %14s %14s %14s %14s %16s%n", "endpoint",
+					"connect p50", "connect p95", "rtt p50", "rtt p95", "rtt p99", "bytes in/frame");
+			// Alternating rounds, so JIT warmup does not favour whichever endpoint runs last
+			for (int round = 0; round < ROUNDS; round++) {
+				run("native", "ws://localhost:" + port + "/ws-native", false, payload);
+				run("sockjs", "http://localhost:" + port + "/ws", true, payload);
+			}
+		}
+	}
+
+	private static void run(String name, String url, boolean sockJs, String payload) throws Exception {
+		AtomicLong bytesReceived = new AtomicLong();
+
+		// A new client per connection, since SockJsClient caches the /info response that browsers fetch every time
+		long[] connectNanos = new long[CONNECTS];
+		for (int i = -WARMUP; i < CONNECTS; i++) {
+			WebSocketStompClient connectClient = client(sockJs, bytesReceived);
+			long start = System.nanoTime();
+			StompSession session = connectClient.connectAsync(url, new StompSessionHandlerAdapter() { })
+					.get(10, TimeUnit.SECONDS);
+			long elapsed = System.nanoTime() - start;
+			session.disconnect();
+			connectClient.stop();
+			if (i >= 0) {
+				connectNanos[i] = elapsed;
+			}
+		}
+
+		WebSocketStompClient client = client(sockJs, bytesReceived);
+		BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+		StompSession session = client.connectAsync(url, new StompSessionHandlerAdapter() { }).get(10, TimeUnit.SECONDS);
+		session.subscribe(TOPIC, new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return String.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object body) {
+				received.offer(body);
+			}
+		});
+		// A receipt-less subscription: give the broker a moment to register it
+		Thread.sleep(500);
+
+		for (int i = 0; i < WARMUP; i++) {
+			session.send(TOPIC, payload);
+			received.poll(10, TimeUnit.SECONDS);
+		}
+		long[] roundTripNanos = new long[MESSAGES];
+		long bytesBefore = bytesReceived.get();
+		for (int i = 0; i < MESSAGES; i++) {
+			long start = System.nanoTime();
+			session.send(TOPIC, payload);
+			if (received.poll(10, TimeUnit.SECONDS) == null) {
+				throw new IllegalStateException("Frame " + i + " was not delivered over " + name);
+			}
+			roundTripNanos[i] = System.nanoTime() - start;
+		}
+		long bytesPerFrame = (bytesReceived.get() - bytesBefore) / MESSAGES;
+		session.disconnect();
+		client.stop();
+
+		Arrays.sort(connectNanos);
+		Arrays.sort(roundTripNanos);
+		System.out.printf("%-10s %11.0f us %11.0f us %11.0f us %11.0f us %11.0f us %16d%n", name,
+				micros(connectNanos, 0.50), micros(connectNanos, 0.95),
+				micros(roundTripNanos, 0.50), micros(roundTripNanos, 0.95), micros(roundTripNanos, 0.99),
+				bytesPerFrame);
+	}
+
+	private static WebSocketStompClient client(boolean sockJs, AtomicLong bytesReceived) {
+		WebSocketClient webSocketClient = new CountingWebSocketClient(new StandardWebSocketClient(), bytesReceived);
+		WebSocketStompClient client = new WebSocketStompClient(sockJs
+				? new SockJsClient(List.of(new WebSocketTransport(webSocketClient)))
+				: webSocketClient);
+		client.setMessageConverter(new StringMessageConverter());
+		return client;
+	}
+
+	private static String statusChangedFrame(ObjectMapper objectMapper) throws Exception {
+		OrderEventResponse event = new OrderEventResponse();
+		event.setStreamId("orders");
+		event.setSeq(123456);
+		event.setType(OrderEventType.STATUS_CHANGED);
+		event.setOrderId(98765L);
+		event.setOrderCode("ORD-1A2B3C4D");
+		event.setStatus(OrderStatus.PREPARING);
+		event.setOccurredAt(LocalDateTime.of(2026, 1, 1, 12, 0));
+		return objectMapper.writeValueAsString(event);
+	}
+
+	private static double micros(long[] sortedNanos, double quantile) {
+		return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.round(quantile * sortedNanos.length))] / 1_000.0;
+	}
+
+	/**
+	 * Counts the bytes of every frame the client receives, SockJS framing included.
+	 */
+	private record CountingWebSocketClient(WebSocketClient delegate, AtomicLong bytesReceived) implements WebSocketClient {
+
+		@Override
+		public CompletableFuture<WebSocketSession> execute(WebSocketHandler handler, String uriTemplate, Object... uriVariables) {
+			return delegate.execute(counting(handler), uriTemplate, uriVariables);
+		}
+
+		@Override
+		public CompletableFuture<WebSocketSession> execute(WebSocketHandler handler, WebSocketHttpHeaders headers, URI uri) {
+			return delegate.execute(counting(handler), headers, uri);
+		}
+
+		private WebSocketHandler counting(WebSocketHandler handler) {
+			return new WebSocketHandlerDecorator(handler) {
+				@Override
+				public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+					bytesReceived.addAndGet(message.getPayloadLength());
+					super.handleMessage(session, message);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rakeshgupta.cafebrew_backend.config.JacksonConfig;
+import com.rakeshgupta.cafebrew_backend.customer.dto.response.MenuItemResponse;
+import com.rakeshgupta.cafebrew_backend.customer.entity.Category;
+import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes the public menu as MenuItem entities (the response before the projection) and as
+ * MenuItemResponse projections, with the application's ObjectMapper. Payload sizes, plain and
+ * gzipped, are printed once per fork. The entities carry an initialized Category, which is the best
+ * case for the entity path: a lazy Hibernate proxy would cost a query or fail serialization.
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main MenuPayloadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuPayloadBenchmark {
+
+	private static final int CATEGORIES = 6;
+
+	@Param({"60"})
+	int menuSize;
+
+	private ObjectMapper objectMapper;
+	private List<MenuItem> entities;
+	private List<MenuItemResponse> projections;
+
+	@Setup
+	public void setUp() throws IOException {
+		objectMapper = new JacksonConfig().objectMapper();
+		LocalDateTime created = LocalDateTime.of(2025, 6, 1, 9, 30);
+
+		List<Category> categories = new ArrayList<>();
+		for (long id = 1; id <= CATEGORIES; id++) {
+			Category category = new Category();
+			category.setId(id);
+			category.setName("Category " + id);
+			category.setDescription("Hot and cold drinks, snacks and desserts in group " + id);
+			category.setDisplayOrder((int) id);
+			category.setActive(true);
+			category.setCreatedAt(created);
+			category.setUpdatedAt(created);
+			categories.add(category);
+		}
+
+		entities = new ArrayList<>();
+		projections = new ArrayList<>();
+		for (long id = 1; id <= menuSize; id++) {
+			Category category = categories.get((int) (id % CATEGORIES));
+			String name = "Menu item " + id;
+			String description = "House special number " + id + ", made fresh to order";
+			BigDecimal price = BigDecimal.valueOf(9_900 + id * 500, 2);
+			String imageUrl = "https://images.example.com/menu-items/" + Long.toHexString(id * 0x9E3779B97F4AL) + ".jpg";
+
+			MenuItem item = new MenuItem();
+			item.setId(id);
+			item.setName(name);
+			item.setDescription(description);
+			item.setCategory(category.getName());
+			item.setCategoryEntity(category);
+			item.setPrice(price);
+			item.setAvailable(true);
+			item.setImageUrl(imageUrl);
+			item.setCreatedAt(created);
+			item.setUpdatedAt(created);
+			entities.add(item);
+
+			projections.add(new MenuItemResponse(id, name, description, category.getId(), category.getName(),
+					price, true, imageUrl));
+		}
+
+		byte[] entityJson = objectMapper.writeValueAsBytes(entities);
+		byte[] projectionJson = objectMapper.writeValueAsBytes(projections);
+		System.out.printf("%n%d items: entities %d bytes (%d gzipped), projections %d bytes (%d gzipped)%n",
+				menuSize, entityJson.length, gzippedSize(entityJson), projectionJson.length, gzippedSize(projectionJson));
+	}
+
+	@Benchmark
+	public byte[] entities() throws IOException {
+		return objectMapper.writeValueAsBytes(entities);
+	}
+
+	@Benchmark
+	public byte[] projections() throws IOException {
+		return objectMapper.writeValueAsBytes(projections);
+	}
+
+	private static int gzippedSize(byte[] json) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.size();
+	}
+}
@@ -0,0 +1,121 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
+import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a batch of order lines through the paise index and through the previous path:
+ * entities looked up by ID and totals summed with BigDecimal as in OrderItem.calculateTotalPrice.
+ * The entity lookups come from a HashMap, so the database round trips the old path also made are
+ * left out and the comparison covers only the in-memory work.
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main MenuPriceIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuPriceIndexBenchmark {
+
+	private static final int LINES = 1024;
+	private static final int EXTRAS_PER_LINE = 2;
+
+	@Param({"100", "2000"})
+	int catalogSize;
+
+	private MenuPriceIndex.PriceTable menuItemTable;
+	private MenuPriceIndex.PriceTable extraTable;
+	private Map<Long, MenuItem> menuItems;
+	private Map<Long, ExtraIngredient> extras;
+
+	private long[] lineItemIds;
+	private long[][] lineExtraIds;
+	private int[] lineQuantities;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		menuItemTable = new MenuPriceIndex.PriceTable(catalogSize);
+		extraTable = new MenuPriceIndex.PriceTable(catalogSize);
+		menuItems = new HashMap<>();
+		extras = new HashMap<>();
+		for (long id = 1; id <= catalogSize; id++) {
+			BigDecimal price = BigDecimal.valueOf(random.nextInt(5_000, 50_000), 2);
+			MenuItem item = new MenuItem();
+			item.setId(id);
+			item.setName("item-" + id);
+			item.setPrice(price);
+			menuItems.put(id, item);
+			menuItemTable.put(id, MenuPriceIndex.toPaise(price), item.getName());
+
+			BigDecimal extraPrice = BigDecimal.valueOf(random.nextInt(1_000, 8_000), 2);
+			ExtraIngredient extra = new ExtraIngredient();
+			extra.setId(id);
+			extra.setName("extra-" + id);
+			extra.setPrice(extraPrice);
+			extras.put(id, extra);
+			extraTable.put(id, MenuPriceIndex.toPaise(extraPrice), extra.getName());
+		}
+
+		lineItemIds = new long[LINES];
+		lineExtraIds = new long[LINES][EXTRAS_PER_LINE];
+		lineQuantities = new int[LINES];
+		for (int line = 0; line < LINES; line++) {
+			lineItemIds[line] = random.nextLong(1, catalogSize + 1);
+			for (int e = 0; e < EXTRAS_PER_LINE; e++) {
+				lineExtraIds[line][e] = random.nextLong(1, catalogSize + 1);
+			}
+			lineQuantities[line] = random.nextInt(1, 4);
+		}
+	}
+
+	@Benchmark
+	public long priceIndex() {
+		long total = 0;
+		for (int line = 0; line < LINES; line++) {
+			long unit = menuItemTable.price(lineItemIds[line]);
+			for (long extraId : lineExtraIds[line]) {
+				unit += extraTable.price(extraId);
+			}
+			total += unit * lineQuantities[line];
+		}
+		return total;
+	}
+
+	@Benchmark
+	public BigDecimal entityBigDecimal() {
+		BigDecimal total = BigDecimal.ZERO;
+		for (int line = 0; line < LINES; line++) {
+			BigDecimal extrasTotal = BigDecimal.ZERO;
+			for (long extraId : lineExtraIds[line]) {
+				extrasTotal = extrasTotal.add(extras.get(extraId).getPrice());
+			}
+			total = total.add(menuItems.get(lineItemIds[line]).getPrice()
+					.add(extrasTotal)
+					.multiply(BigDecimal.valueOf(lineQuantities[line])));
+		}
+		return total;
+	}
+}
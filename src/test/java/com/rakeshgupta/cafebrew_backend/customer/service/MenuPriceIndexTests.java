@@ -0,0 +1,161 @@
+package com.rakeshgupta.cafebrew_backend.customer.service;
+
+import com.rakeshgupta.cafebrew_backend.customer.entity.ExtraIngredient;
+import com.rakeshgupta.cafebrew_backend.customer.entity.MenuItem;
+import com.rakeshgupta.cafebrew_backend.customer.repository.ExtraIngredientRepository;
+import com.rakeshgupta.cafebrew_backend.customer.repository.MenuItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lookups, probing and rebuilds of the order placement price index.
+ */
+class MenuPriceIndexTests {
+
+	@Test
+	void collidingKeysAreAllFound() {
+		MenuPriceIndex.PriceTable table = new MenuPriceIndex.PriceTable(8);
+		List<Long> colliding = keysInSlot(table, table.slot(1L), 4);
+
+		for (long key : colliding) {
+			table.put(key, key * 100, "item-" + key);
+		}
+
+		for (long key : colliding) {
+			assertEquals(key * 100, table.price(key));
+			assertEquals("item-" + key, table.name(key));
+		}
+	}
+
+	@Test
+	void probingWrapsAroundTheEndOfTheTable() {
+		// Eight slots, so the run starting in slot 7 continues at 0
+		MenuPriceIndex.PriceTable table = new MenuPriceIndex.PriceTable(2);
+		List<Long> colliding = keysInSlot(table, 7, 3);
+
+		for (long key : colliding) {
+			table.put(key, key, null);
+		}
+
+		for (long key : colliding) {
+			assertEquals(key, table.price(key));
+		}
+	}
+
+	@Test
+	void putOverwritesAnExistingKey() {
+		MenuPriceIndex.PriceTable table = new MenuPriceIndex.PriceTable(1);
+		table.put(7L, 1000, "Latte");
+		table.put(7L, 1250, "Flat White");
+
+		assertEquals(1250, table.price(7L));
+		assertEquals("Flat White", table.name(7L));
+	}
+
+	@Test
+	void missingKeysReturnMissing() {
+		MenuPriceIndex.PriceTable table = new MenuPriceIndex.PriceTable(100);
+		for (long key = 1; key <= 100; key++) {
+			table.put(key, key, "item");
+		}
+
+		assertEquals(MenuPriceIndex.MISSING, table.price(101L));
+		assertEquals(MenuPriceIndex.MISSING, table.price(0L));
+		assertEquals(MenuPriceIndex.MISSING, table.price(-5L));
+		assertNull(table.name(101L));
+		assertEquals(MenuPriceIndex.MISSING, MenuPriceIndex.PriceTable.EMPTY.price(1L));
+		assertNull(MenuPriceIndex.PriceTable.EMPTY.name(1L));
+	}
+
+	@Test
+	void fullTableHoldsEveryKey() {
+		int size = 1000;
+		MenuPriceIndex.PriceTable table = new MenuPriceIndex.PriceTable(size);
+		for (long key = 1; key <= size; key++) {
+			table.put(key * 31, key, null);
+		}
+
+		for (long key = 1; key <= size; key++) {
+			assertEquals(key, table.price(key * 31));
+		}
+	}
+
+	@Test
+	void refreshReplacesThePreviousIndex() {
+		MenuItemRepository menuItems = mock(MenuItemRepository.class);
+		ExtraIngredientRepository extras = mock(ExtraIngredientRepository.class);
+		MenuPriceIndex index = new MenuPriceIndex(menuItems, extras);
+
+		when(menuItems.findAvailableMenuItemsWithActiveCategories())
+				.thenReturn(List.of(menuItem(1L, "Latte", "180.00"), menuItem(2L, "Mocha", "210.50")));
+		when(extras.findByActiveTrueOrderByNameAsc()).thenReturn(List.of(extra(1L, "Oat Milk", "40")));
+		index.refresh();
+
+		assertEquals(18000, index.menuItemPrice(1L));
+		assertEquals(21050, index.menuItemPrice(2L));
+		assertEquals(4000, index.extraIngredientPrice(1L));
+
+		when(menuItems.findAvailableMenuItemsWithActiveCategories())
+				.thenReturn(List.of(menuItem(1L, "Latte", "190.00")));
+		when(extras.findByActiveTrueOrderByNameAsc()).thenReturn(List.of());
+		index.refresh();
+
+		assertEquals(19000, index.menuItemPrice(1L));
+		assertEquals(MenuPriceIndex.MISSING, index.menuItemPrice(2L));
+		assertNull(index.menuItemName(2L));
+		assertEquals(MenuPriceIndex.MISSING, index.extraIngredientPrice(1L));
+	}
+
+	@Test
+	void pricesAreRoundedHalfUpToPaise() {
+		assertEquals(1235, MenuPriceIndex.toPaise(new BigDecimal("12.345")));
+		assertEquals(1234, MenuPriceIndex.toPaise(new BigDecimal("12.344")));
+		assertEquals(1000, MenuPriceIndex.toPaise(new BigDecimal("10")));
+		assertEquals(5, MenuPriceIndex.toPaise(new BigDecimal("0.05")));
+		assertEquals(new BigDecimal("12.35"), MenuPriceIndex.toRupees(1235));
+		assertEquals(new BigDecimal("0.05"), MenuPriceIndex.toRupees(5));
+	}
+
+	@Test
+	void pricesBeyondLongRangeAreRejected() {
+		assertThrows(ArithmeticException.class, () -> MenuPriceIndex.toPaise(new BigDecimal("1e20")));
+	}
+
+	/**
+	 * The first {@code count} positive keys whose home slot is {@code slot}.
+	 */
+	private static List<Long> keysInSlot(MenuPriceIndex.PriceTable table, int slot, int count) {
+		List<Long> keys = new ArrayList<>();
+		for (long key = 1; keys.size() < count; key++) {
+			if (table.slot(key) == slot) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+
+	private static MenuItem menuItem(long id, String name, String price) {
+		MenuItem item = new MenuItem();
+		item.setId(id);
+		item.setName(name);
+		item.setPrice(new BigDecimal(price));
+		return item;
+	}
+
+	private static ExtraIngredient extra(long id, String name, String price) {
+		ExtraIngredient extra = new ExtraIngredient();
+		extra.setId(id);
+		extra.setName(name);
+		extra.setPrice(new BigDecimal(price));
+		return extra;
+	}
+}
@@ -0,0 +1,79 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Which listed objects the reconciler treats as orphaned.
+ */
+class OrphanImageReconcilerTests {
+
+	private static final Instant CUTOFF = Instant.parse("2026-01-02T00:00:00Z");
+	private static final Instant OLD = CUTOFF.minus(Duration.ofDays(3));
+	private static final Instant RECENT = CUTOFF.plus(Duration.ofHours(1));
+
+	@Test
+	void usedOriginalsAndTheirVariantsAreKept() {
+		Map<String, List<String>> orphans = collect(
+				Set.of("menu-items/used.jpg"),
+				Map.of("menu-items/used_320w.webp", "menu-items/used.jpg"),
+				object("menu-items/used.jpg", OLD),
+				object("menu-items/used_320w.webp", OLD));
+
+		assertEquals(Map.of(), orphans);
+	}
+
+	@Test
+	void unusedOriginalsAreGroupedWithTheirVariants() {
+		Map<String, List<String>> orphans = collect(
+				Set.of("menu-items/used.jpg"),
+				Map.of("menu-items/gone_320w.webp", "menu-items/gone.jpg"),
+				object("menu-items/gone.jpg", OLD),
+				object("menu-items/gone_320w.webp", OLD),
+				object("staging/upload-1", OLD));
+
+		assertEquals(Map.of(
+				"menu-items/gone.jpg", List.of("menu-items/gone.jpg", "menu-items/gone_320w.webp"),
+				"staging/upload-1", List.of("staging/upload-1")), orphans);
+	}
+
+	@Test
+	void objectsNewerThanTheCutoffAreKept() {
+		Map<String, List<String>> orphans = collect(Set.of(), Map.of(),
+				object("menu-items/just-uploaded.jpg", RECENT),
+				object("menu-items/stale.jpg", OLD));
+
+		assertEquals(Map.of("menu-items/stale.jpg", List.of("menu-items/stale.jpg")), orphans);
+	}
+
+	@Test
+	void countsEveryListedObject() {
+		Map<String, List<String>> orphans = new LinkedHashMap<>();
+		int scanned = OrphanImageReconciler.collectOrphans(
+				List.of(object("menu-items/a.jpg", OLD), object("menu-items/b.jpg", RECENT)),
+				Set.of("menu-items/a.jpg"), Map.of(), CUTOFF, orphans);
+
+		assertEquals(2, scanned);
+		assertEquals(Map.of(), orphans);
+	}
+
+	private static Map<String, List<String>> collect(Set<String> usedOriginals, Map<String, String> originalByVariant,
+													 S3Object... objects) {
+		Map<String, List<String>> orphans = new LinkedHashMap<>();
+		OrphanImageReconciler.collectOrphans(List.of(objects), usedOriginals, originalByVariant, CUTOFF, orphans);
+		return orphans;
+	}
+
+	private static S3Object object(String key, Instant lastModified) {
+		return S3Object.builder().key(key).lastModified(lastModified).build();
+	}
+}
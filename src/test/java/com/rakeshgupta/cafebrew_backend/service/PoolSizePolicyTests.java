@@ -0,0 +1,163 @@
+package com.rakeshgupta.cafebrew_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Grow, hold and shrink decisions of the connection pool tuner.
+ */
+class PoolSizePolicyTests {
+
+	private static final double NONE = Double.NaN;
+
+	@Test
+	void growsByAQuarterWhenRequestsWaited() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		PoolSizePolicy.Decision decision = policy.decide(8, 12, 20, 10);
+
+		assertEquals(10, decision.target());
+		assertEquals("connection waits", decision.reason());
+	}
+
+	@Test
+	void growsByAtLeastOne() {
+		PoolSizePolicy policy = new PoolSizePolicy(1, 16, 5);
+
+		assertEquals(3, policy.decide(2, 4, 20, NONE).target());
+	}
+
+	@Test
+	void growthStopsAtTheMaximum() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		assertEquals(16, policy.decide(15, 30, 20, 10).target());
+		assertEquals(16, policy.decide(16, 30, 20, 10).target());
+	}
+
+	@Test
+	void shortWaitsDoNotGrowThePool() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		PoolSizePolicy.Decision decision = policy.decide(8, 12, 4.9, 10);
+
+		assertEquals(8, decision.target());
+		assertEquals("steady", decision.reason());
+	}
+
+	@Test
+	void holdsWhenWaitsComeFromASlowerDatabase() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+		policy.decide(8, 6, 0, 10);
+
+		PoolSizePolicy.Decision decision = policy.decide(8, 12, 20, 16);
+
+		assertEquals(8, decision.target());
+		assertEquals("waiting, but database latency is up; holding", decision.reason());
+	}
+
+	@Test
+	void growsWhenUsageIsWithinTheSlowdownRatio() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+		policy.decide(8, 6, 0, 10);
+
+		assertEquals(10, policy.decide(8, 12, 20, 15).target());
+	}
+
+	@Test
+	void baselineFollowsUsageOnlyInWindowsWithoutWaits() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		policy.decide(8, 6, 0, NONE);
+		assertEquals(NONE, policy.baselineUsageMillis());
+		policy.decide(8, 6, 0, 10);
+		assertEquals(10, policy.baselineUsageMillis(), 1e-9);
+		policy.decide(8, 6, 0, 20);
+		assertEquals(12, policy.baselineUsageMillis(), 1e-9);
+		policy.decide(8, 12, 20, 100);
+		assertEquals(12, policy.baselineUsageMillis(), 1e-9);
+	}
+
+	@Test
+	void shrinksByOneAfterFourUnderusedWindows() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		for (int window = 1; window < PoolSizePolicy.SHRINK_AFTER_QUIET_WINDOWS; window++) {
+			assertEquals(10, policy.decide(10, 5, 0, 10).target());
+		}
+		PoolSizePolicy.Decision decision = policy.decide(10, 5, 0, 10);
+
+		assertEquals(9, decision.target());
+		assertEquals("underused", decision.reason());
+		// The run starts over after a resize
+		assertEquals(9, policy.decide(9, 2, 0, 10).target());
+	}
+
+	@Test
+	void busyWindowResetsTheShrinkCountdown() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		policy.decide(10, 5, 0, 10);
+		policy.decide(10, 5, 0, 10);
+		policy.decide(10, 6, 0, 10);
+		policy.decide(10, 5, 0, 10);
+		policy.decide(10, 5, 0, 10);
+
+		assertEquals(10, policy.decide(10, 5, 0, 10).target());
+		assertEquals(9, policy.decide(10, 5, 0, 10).target());
+	}
+
+	@Test
+	void neverShrinksBelowTheMinimum() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5);
+
+		for (int window = 0; window < 10; window++) {
+			assertEquals(5, policy.decide(5, 0, NONE, NONE).target());
+		}
+	}
+
+	@Test
+	void sizeOutsideTheBoundsIsPulledBackIn() {
+		assertEquals(16, new PoolSizePolicy(5, 16, 5).decide(20, 10, 0, 10).target());
+		assertEquals(5, new PoolSizePolicy(5, 16, 5).decide(2, 2, 0, 10).target());
+	}
+
+	@Test
+	void followsARampUpAndBackDown() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 16, 5);
+		int size = 10;
+
+		// 14 requests want a connection; they wait until the pool covers them
+		for (int window = 0; window < 5; window++) {
+			double waitMillis = size < 14 ? 40 : 0;
+			size = policy.decide(size, 14, waitMillis, 10).target();
+		}
+		assertEquals(15, size);
+
+		// Demand drops to 3: one connection less every fourth window while at most half the pool is used
+		for (int window = 0; window < 4 * 20; window++) {
+			size = policy.decide(size, 3, 0, 10).target();
+		}
+		assertEquals(5, size);
+	}
+
+	@Test
+	void cappingLowersBothBounds() {
+		PoolSizePolicy policy = new PoolSizePolicy(5, 16, 5).capped(4);
+
+		assertEquals(4, policy.minSize());
+		assertEquals(4, policy.maxSize());
+		assertEquals(4, policy.decide(10, 10, 20, 10).target());
+		assertEquals(12, new PoolSizePolicy(5, 16, 5).capped(12).maxSize());
+		assertEquals(16, new PoolSizePolicy(5, 16, 5).capped(40).maxSize());
+	}
+
+	@Test
+	void boundsAreSanitized() {
+		PoolSizePolicy policy = new PoolSizePolicy(0, -3, 5);
+
+		assertEquals(1, policy.minSize());
+		assertEquals(1, policy.maxSize());
+	}
+}